@@ -0,0 +1,82 @@
+package memory.archive;
+
+import memory.model.Game;
+import memory.model.SaveFile;
+import memory.model.SaveFileException;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks lookups in an archive of finished games played by a few hundred players.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameArchiveBenchmark {
+    private static final int PLAYERS = 300;
+
+    @Param({"20000"})
+    public int games;
+
+    @Param({"false", "true"})
+    public boolean compress;
+
+    private GameArchive archive;
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Setup
+    public void setup() throws Exception {
+        var path = Files.createTempDirectory("memory-benchmark").resolve("games" + GameArchive.EXTENSION);
+        var game = new Game();
+
+        try (var writer = ArchiveWriter.open(path, this.compress)) {
+            for (int i = 0; i < this.games; i++) {
+                game.start(this.random.nextLong());
+
+                // Every pair goes to a random player, the grid is left as dealt.
+                var pairs = game.getBoard().getPairs();
+                var badges = new int[2][];
+                var split = this.random.nextInt(pairs + 1);
+
+                badges[0] = new int[split];
+                badges[1] = new int[pairs - split];
+                for (int id = 0; id < pairs; id++) {
+                    if (id < split) badges[0][id] = id;
+                    else badges[1][id - split] = id;
+                }
+
+                var names = new String[]{"Player " + this.random.nextInt(PLAYERS), "Player " + this.random.nextInt(PLAYERS)};
+                var save = SaveFile.of(game);
+
+                writer.add(new SaveFile(save.getRows(), save.getColumns(), save.getGrid(), names, badges, save.getCurrentPlayer(), save.getSeed(), save.getMoves()), i * 60_000L);
+            }
+        }
+
+        this.archive = GameArchive.open(path);
+    }
+
+    @Benchmark
+    public SaveFile readGame() throws SaveFileException {
+        return this.archive.read(this.random.nextInt(this.games));
+    }
+
+    @Benchmark
+    public ArchiveEntry readEntry() {
+        return this.archive.getEntry(this.random.nextInt(this.games));
+    }
+
+    @Benchmark
+    public int[] findPlayer() {
+        return this.archive.findPlayer("Player " + this.random.nextInt(PLAYERS));
+    }
+
+    @Benchmark
+    public int[] findDay() {
+        var from = this.random.nextInt(this.games) * 60_000L;
+
+        return this.archive.findDates(from, from + 24 * 60 * 60_000L);
+    }
+}
@@ -0,0 +1,94 @@
+package memory.model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the model operations a game is built from, on square boards of different sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameBenchmark {
+    @Param({"6", "20", "100"})
+    public int size;
+
+    private Game game;
+    private int[] data;
+    private int[] pairs;
+    private int next;
+    private int[] mismatch;
+
+    @Setup
+    public void setup() {
+        this.game = new Game(this.size, this.size);
+        this.data = this.game.generateCards(new SplittableRandom(42));
+        this.game.loadCards(this.data);
+
+        // Both cards of every pair, in order, so a turn can always take the next one.
+        var first = new int[this.data.length / 2 + 1];
+        this.pairs = new int[this.data.length];
+
+        for (int i = 0; i < this.data.length; i++) {
+            var id = this.data[i];
+
+            if (first[id] == 0) {
+                first[id] = i + 1;
+            } else {
+                this.pairs[(id - 1) * 2] = first[id] - 1;
+                this.pairs[(id - 1) * 2 + 1] = i;
+            }
+        }
+
+        this.mismatch = new int[]{this.pairs[0], this.pairs[2]};
+    }
+
+    @Benchmark
+    public int[] generateCards() {
+        return this.game.generateCards();
+    }
+
+    @Benchmark
+    public void loadCards(Blackhole blackhole) {
+        this.game.loadCards(this.data);
+        blackhole.consume(this.game.getBoard());
+    }
+
+    /**
+     * A turn that doesn't find a pair, which leaves the board as it was.
+     * This is the steady state of a game, gc.alloc.rate.norm should stay at 0 B/op.
+     */
+    @Benchmark
+    public void calculatePairMismatch() {
+        this.game.addSelectedCard(this.mismatch[0]);
+        this.game.addSelectedCard(this.mismatch[1]);
+        this.game.calculatePair();
+    }
+
+    /**
+     * A turn that finds a pair, starting a new game once the board is empty.
+     */
+    @Benchmark
+    public void calculatePairMatch() {
+        if (this.next == this.pairs.length) {
+            this.game.generatePlayers();
+            this.game.loadCards(this.data);
+            this.next = 0;
+        }
+
+        this.game.addSelectedCard(this.pairs[this.next++]);
+        this.game.addSelectedCard(this.pairs[this.next++]);
+        this.game.calculatePair();
+    }
+
+    @Benchmark
+    public void processPair() {
+        this.game.addSelectedCard(this.mismatch[0]);
+        this.game.addSelectedCard(this.mismatch[1]);
+        this.game.processPair(false);
+        this.game.clearSelectedCards();
+    }
+}
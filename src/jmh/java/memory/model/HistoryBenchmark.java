@@ -0,0 +1,51 @@
+package memory.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks taking the state after a turn as a {@link GameState} against capturing it as a {@link SaveFile},
+ * run with -prof gc to compare the bytes allocated per turn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HistoryBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"6", "60", "400"})
+    public int size;
+
+    private Game game;
+    private GameState state;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+        this.game = new Game(this.size, this.size);
+        this.game.start(SEED);
+        this.state = GameState.of(this.game);
+        this.random = new SplittableRandom(SEED);
+    }
+
+    /**
+     * The state after a turn that matched a pair, which changes two cells and a badge list.
+     */
+    @Benchmark
+    public GameState play() {
+        var cells = this.size * this.size;
+        var first = this.random.nextInt(cells);
+
+        return this.state.play(first, (first + 1) % cells, true);
+    }
+
+    /**
+     * The copy the game took before, with the board and every list copied.
+     */
+    @Benchmark
+    public SaveFile saveFile() {
+        return SaveFile.of(this.game);
+    }
+}
@@ -0,0 +1,65 @@
+package memory.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks replaying a recorded game of random moves, divide by the move count for the time per move.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReplayBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"6", "20"})
+    public int size;
+
+    private int[] moves;
+    private Replay replay;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+        var game = new Game(this.size, this.size);
+        var random = new SplittableRandom(SEED);
+
+        game.start(SEED);
+
+        var board = game.getBoard();
+
+        while (!game.checkForGameEnd()) {
+            int first;
+            int second;
+
+            do first = random.nextInt(board.size()); while (board.isRemoved(first));
+            do second = random.nextInt(board.size()); while (board.isRemoved(second) || second == first);
+
+            game.addSelectedCard(first);
+            game.addSelectedCard(second);
+            game.calculatePair();
+        }
+
+        this.moves = game.getMoves();
+        this.replay = new Replay(this.size, this.size, SEED, this.moves);
+        this.random = new SplittableRandom(SEED);
+    }
+
+    /**
+     * Plays the whole game once, validating every move and taking the checkpoints.
+     */
+    @Benchmark
+    public Replay replay() {
+        return new Replay(this.size, this.size, SEED, this.moves);
+    }
+
+    /**
+     * Jumps to a random move, which replays at most {@link Replay#CHECKPOINT_TURNS} turns.
+     */
+    @Benchmark
+    public Game seek() {
+        return this.replay.seek(this.random.nextInt(this.replay.size() + 1));
+    }
+}
@@ -0,0 +1,64 @@
+package memory.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading and writing the bundled saves in both formats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SaveFileBenchmark {
+    @Param({"halfway.mem", "halfway_plus_one.mem", "almostdone.mem"})
+    public String save;
+
+    private Game game;
+    private File text;
+    private File binary;
+    private File textOut;
+    private File binaryOut;
+
+    @Setup
+    public void setup() throws Exception {
+        var directory = Files.createTempDirectory("memory-benchmark");
+
+        this.text = directory.resolve(this.save).toFile();
+        this.binary = directory.resolve(this.save + "b").toFile();
+        this.textOut = directory.resolve("out.mem").toFile();
+        this.binaryOut = directory.resolve("out" + BinarySaveFile.EXTENSION).toFile();
+
+        try (var in = this.getClass().getResourceAsStream("/saves/" + this.save)) {
+            Files.copy(in, this.text.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        this.game = new Game();
+        this.game.load(this.game.readSaveFile(this.text));
+        this.game.writeSaveFile(this.binary);
+    }
+
+    @Benchmark
+    public SaveFile readSaveFileText() throws IOException, SaveFileException {
+        return this.game.readSaveFile(this.text);
+    }
+
+    @Benchmark
+    public SaveFile readSaveFileBinary() throws IOException, SaveFileException {
+        return this.game.readSaveFile(this.binary);
+    }
+
+    @Benchmark
+    public void writeSaveFileText() throws IOException {
+        this.game.writeSaveFile(this.textOut);
+    }
+
+    @Benchmark
+    public void writeSaveFileBinary() throws IOException {
+        this.game.writeSaveFile(this.binaryOut);
+    }
+}
@@ -0,0 +1,38 @@
+package memory.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks notifying observers, from a single one up to a thousand.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ObservableBenchmark {
+    @Param({"1", "10", "100", "1000"})
+    public int observers;
+
+    private Observable<Object> observable;
+    private final Object value = new Object();
+    private long received;
+
+    @Setup
+    public void setup() {
+        this.observable = new Observable<>();
+
+        for (int i = 0; i < this.observers; i++) {
+            this.observable.observe(value -> {
+                if (value != null) this.received++;
+            });
+        }
+    }
+
+    @Benchmark
+    public long update() {
+        this.observable.update(this.value);
+
+        return this.received;
+    }
+}
@@ -1,24 +1,70 @@
 package memory;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import memory.controller.GameController;
+import memory.jfr.Recordings;
+import memory.util.Startup;
+
+import java.nio.file.Path;
 
 public class Main extends Application {
+    private Path recording;
+    private GameController controller;
 
     @Override
     public void start(Stage primaryStage) throws Exception {
+        Startup.mark("start");
+
+        // --record=memory.jfr records the whole session and writes it when the game closes.
+        var record = this.getParameters().getNamed().get("record");
+
+        if (record != null) {
+            this.recording = Path.of(record);
+            Recordings.start();
+        }
+
+        // --startup-report=startup.txt writes the startup milestones at the first click, --training quits once the game is interactive.
+        var report = this.getParameters().getNamed().get("startup-report");
+
+        if (report != null) Startup.setReport(Path.of(report));
+        Startup.setTraining(this.getParameters().getUnnamed().contains("--training"));
+
         var view = getClass().getResource("/views/game.fxml");
-        Parent root = FXMLLoader.load(view);
+        var loader = new FXMLLoader(view);
+        Parent root = loader.load();
+        this.controller = loader.getController();
+        Startup.mark("fxml loaded");
+
+        var scene = new Scene(root, 900, 900);
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                Startup.mark("first frame");
+
+                // Listeners can't be removed while the scene is calling them.
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+            }
+        });
+
         primaryStage.setTitle("Memory");
-        primaryStage.setScene(new Scene(root, 900, 900));
+        primaryStage.setScene(scene);
 //        primaryStage.setResizable(false);
         primaryStage.show();
     }
 
+    @Override
+    public void stop() throws Exception {
+        if (this.controller != null) this.controller.close();
+        if (this.recording != null) Recordings.stop(this.recording);
+    }
+
     public static void main(String[] args) {
+        Startup.mark("main");
         launch(args);
     }
 }
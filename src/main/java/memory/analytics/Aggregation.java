@@ -0,0 +1,245 @@
+package memory.analytics;
+
+import memory.archive.GameArchive;
+import memory.model.Game;
+import memory.model.Replay;
+import memory.model.SaveFile;
+import memory.model.SaveFileException;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Streams saves and archives through {@link GameStats} on a pool, remembering what it counted so a later run only
+ * reads new games.
+ * Saves are walked lazily and handed out in batches, so memory holds one batch of paths and one game per thread
+ * besides the stats and the names of counted saves. Archives only grow, so they're remembered by how many of their
+ * games were counted.
+ */
+public class Aggregation {
+    private static final System.Logger LOGGER = System.getLogger(Aggregation.class.getName());
+    private static final int MAGIC = 0x4D454D54;
+    private static final int VERSION = 1;
+    // Saves walked before they're handed to the pool, and games per task.
+    private static final int BATCH = 4096;
+    private static final int CHUNK = 64;
+
+    private final Path statePath;
+    private GameStats stats = new GameStats();
+    private final Set<String> saves = new HashSet<>();
+    private final Map<String, Integer> archives = new HashMap<>();
+
+    /**
+     * A numbered collection of games to count.
+     */
+    private interface Source {
+        SaveFile read(int index) throws IOException, SaveFileException;
+    }
+
+    /**
+     * @param statePath The file the totals are stored in between runs, or null to always start over.
+     */
+    public Aggregation(Path statePath) {
+        this.statePath = statePath;
+        this.readState();
+    }
+
+    /**
+     * Counts the games in a save, an archive or a directory holding either that weren't counted before.
+     *
+     * @param source The save, archive or directory.
+     * @param pool   The pool to read and count the games on.
+     * @return The amount of games that were counted.
+     */
+    public long add(Path source, ForkJoinPool pool) throws IOException {
+        var before = this.stats.getGames() + this.stats.getUnreadable();
+        var batch = new ArrayList<Path>(BATCH);
+
+        try (var paths = Files.walk(source)) {
+            var iterator = paths.filter(Files::isRegularFile).iterator();
+
+            while (iterator.hasNext()) {
+                var path = iterator.next().toAbsolutePath().normalize();
+                var name = path.getFileName().toString();
+
+                if (name.endsWith(GameArchive.EXTENSION)) {
+                    this.addArchive(path, pool);
+                } else if ((name.endsWith(".mem") || name.endsWith(".memb")) && !this.saves.contains(path.toString())) {
+                    batch.add(path);
+                }
+
+                if (batch.size() == BATCH) this.addSaves(batch, pool);
+            }
+        }
+
+        this.addSaves(batch, pool);
+
+        return this.stats.getGames() + this.stats.getUnreadable() - before;
+    }
+
+    private void addSaves(List<Path> batch, ForkJoinPool pool) {
+        if (batch.isEmpty()) return;
+
+        this.stats.merge(run(batch.size(), i -> SaveFile.read(batch.get(i)), pool));
+
+        for (var path : batch) this.saves.add(path.toString());
+        batch.clear();
+    }
+
+    private void addArchive(Path path, ForkJoinPool pool) {
+        GameArchive archive;
+
+        try {
+            archive = GameArchive.open(path);
+        } catch (IOException | SaveFileException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Skipped archive " + path, e);
+            return;
+        }
+
+        var counted = this.archives.getOrDefault(path.toString(), 0);
+
+        if (archive.size() < counted) {
+            LOGGER.log(System.Logger.Level.WARNING, "Skipped archive {0}, it holds fewer games than were counted before", path);
+            return;
+        }
+
+        this.stats.merge(run(archive.size() - counted, i -> archive.read(counted + i), pool));
+        this.archives.put(path.toString(), archive.size());
+    }
+
+    /**
+     * Counts games in parallel, every task fills its own stats with its own scratch game.
+     */
+    private static GameStats run(int games, Source source, ForkJoinPool pool) {
+        var chunks = (games + CHUNK - 1) / CHUNK;
+
+        var task = pool.submit(() -> IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> {
+                    var stats = new GameStats();
+                    var game = new Game();
+
+                    for (int i = chunk * CHUNK; i < Math.min(games, (chunk + 1) * CHUNK); i++) {
+                        try {
+                            record(source.read(i), game, stats);
+                        } catch (IOException | SaveFileException e) {
+                            stats.recordUnreadable();
+                        }
+                    }
+
+                    return stats;
+                })
+                .collect(GameStats::new, GameStats::merge, GameStats::merge));
+
+        return task.join();
+    }
+
+    /**
+     * Records one game. The winner is decided by the game itself, the rest comes from replaying its moves if it has them.
+     *
+     * @param save  The game.
+     * @param game  A game to load the save into.
+     * @param stats The stats to record the game in.
+     */
+    static void record(SaveFile save, Game game, GameStats stats) {
+        game.load(save);
+
+        var winner = game.getWinner();
+        var outcome = !game.checkForGameEnd() ? GameStats.UNFINISHED : (winner == null) ? GameStats.DRAW : (winner == game.getplayerOne()) ? GameStats.PLAYER_ONE : GameStats.PLAYER_TWO;
+        var badges = new int[]{save.getBadges(0).length, save.getBadges(1).length};
+        var starter = GameStats.UNKNOWN;
+        var firstPair = GameStats.UNKNOWN;
+        var moves = save.getMoves();
+
+        if (save.getSeed() != null) {
+            try {
+                var replay = Replay.of(save);
+                var replayed = replay.seek(0);
+
+                starter = (replayed.getCurrentPlayer() == replayed.getplayerOne()) ? GameStats.PLAYER_ONE : GameStats.PLAYER_TWO;
+
+                for (int move = 0; move + 1 < moves.length && firstPair == GameStats.UNKNOWN; move += 2) {
+                    var id = replayed.getBoard().getId(moves[move]);
+
+                    replay.seek(move + 2);
+                    if (replayed.getBoard().isRemoved(moves[move])) firstPair = id;
+                }
+            } catch (IllegalArgumentException e) {
+                // Moves that couldn't have been made say nothing about how the game went.
+                starter = GameStats.UNKNOWN;
+                firstPair = GameStats.UNKNOWN;
+            }
+        }
+
+        stats.record(outcome, badges, starter, moves.length / 2, firstPair);
+    }
+
+    public GameStats getStats() {
+        return this.stats;
+    }
+
+    /**
+     * Reads the stored totals, a missing or corrupted state just means everything gets counted again.
+     */
+    private void readState() {
+        if (this.statePath == null || !Files.exists(this.statePath)) return;
+
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.statePath)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return;
+
+            var stats = GameStats.read(in);
+            var saves = in.readInt();
+            for (int i = 0; i < saves; i++) this.saves.add(in.readUTF());
+
+            var archives = in.readInt();
+            for (int i = 0; i < archives; i++) this.archives.put(in.readUTF(), in.readInt());
+
+            this.stats = stats;
+        } catch (IOException e) {
+            this.saves.clear();
+            this.archives.clear();
+            LOGGER.log(System.Logger.Level.INFO, "Counting every game again", e);
+        }
+    }
+
+    /**
+     * Stores the totals and what was counted, replacing the previous state atomically.
+     */
+    public void store() throws IOException {
+        if (this.statePath == null) return;
+
+        var bytes = new ByteArrayOutputStream();
+
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            this.stats.write(out);
+
+            out.writeInt(this.saves.size());
+            for (var save : this.saves) out.writeUTF(save);
+
+            out.writeInt(this.archives.size());
+            for (var archive : this.archives.entrySet()) {
+                out.writeUTF(archive.getKey());
+                out.writeInt(archive.getValue());
+            }
+        }
+
+        if (this.statePath.toAbsolutePath().getParent() != null) Files.createDirectories(this.statePath.toAbsolutePath().getParent());
+        SaveFile.replace(this.statePath, ByteBuffer.wrap(bytes.toByteArray()));
+    }
+}
@@ -0,0 +1,38 @@
+package memory.analytics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Command line entry point for stats over played games.
+ * <p>
+ * Usage: Aggregator [--fresh] [save, archive or directory...]
+ * The totals are kept in ~/.memory/analytics.state, so every run only reads games it hasn't counted yet.
+ * --fresh starts over.
+ */
+public class Aggregator {
+    private static final Path STATE = Path.of(System.getProperty("user.home"), ".memory", "analytics.state");
+
+    public static void main(String[] args) throws IOException {
+        var fresh = args.length > 0 && args[0].equals("--fresh");
+        if (fresh) Files.deleteIfExists(STATE);
+
+        var aggregation = new Aggregation(STATE);
+        var pool = ForkJoinPool.commonPool();
+
+        for (int i = fresh ? 1 : 0; i < args.length; i++) {
+            var start = System.nanoTime();
+            var games = aggregation.add(Path.of(args[i]), pool);
+            var seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%s: %s new games in %.2f s, %.0f games/s%n", args[i], games, seconds, games / seconds);
+        }
+
+        aggregation.store();
+
+        System.out.println();
+        aggregation.getStats().write(System.out);
+    }
+}
@@ -0,0 +1,301 @@
+package memory.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Aggregated numbers over any amount of played games, in memory that only grows with the size of the boards.
+ * Every worker fills its own stats, which get merged once its games are done, and the totals can be stored
+ * to add new games to later.
+ * <p>
+ * Outcomes and badges come from every save. Who started, how many turns it took and which pair was matched
+ * first are only known for saves that hold their seed and moves.
+ */
+public class GameStats {
+    public static final int PLAYER_ONE = 0;
+    public static final int PLAYER_TWO = 1;
+    public static final int DRAW = 2;
+    public static final int UNFINISHED = 3;
+    public static final int UNKNOWN = -1;
+
+    private long games = 0;
+    private long unreadable = 0;
+    private long finished = 0;
+    private long playerOneWins = 0;
+    private long playerTwoWins = 0;
+    private long draws = 0;
+    // Finished games that hold their moves.
+    private long replayed = 0;
+    private long playerOneStarts = 0;
+    private long starterWins = 0;
+    private long starterLosses = 0;
+    // Amount of finished games per amount of turns it took to finish them.
+    private long[] turnCounts = new long[64];
+    // Per seat, the amount of games per amount of badges the player ended with.
+    private long[][] badgeCounts = {new long[32], new long[32]};
+    // Amount of games per pair id that was matched first.
+    private long[] firstPairs = new long[32];
+
+    /**
+     * Records a game.
+     *
+     * @param outcome   {@link #PLAYER_ONE} or {@link #PLAYER_TWO} for the winner, {@link #DRAW} or {@link #UNFINISHED}.
+     * @param badges    The amount of badges of both players.
+     * @param starter   0 if player one started, 1 if player two did, or {@link #UNKNOWN} without moves.
+     * @param turns     The amount of turns that were played, ignored without moves.
+     * @param firstPair The id of the first pair that was matched, or {@link #UNKNOWN}.
+     */
+    public void record(int outcome, int[] badges, int starter, int turns, int firstPair) {
+        this.games++;
+
+        for (int seat = 0; seat < 2; seat++) this.badgeCounts[seat] = count(this.badgeCounts[seat], badges[seat]);
+
+        if (firstPair >= 0) this.firstPairs = count(this.firstPairs, firstPair);
+
+        if (outcome == UNFINISHED) return;
+
+        this.finished++;
+
+        if (outcome == PLAYER_ONE) this.playerOneWins++;
+        else if (outcome == PLAYER_TWO) this.playerTwoWins++;
+        else if (outcome == DRAW) this.draws++;
+
+        if (starter == UNKNOWN) return;
+
+        this.replayed++;
+        this.turnCounts = count(this.turnCounts, turns);
+
+        if (starter == PLAYER_ONE) this.playerOneStarts++;
+        if (outcome == starter) this.starterWins++;
+        else if (outcome != DRAW) this.starterLosses++;
+    }
+
+    /**
+     * Records a save that couldn't be read.
+     */
+    public void recordUnreadable() {
+        this.unreadable++;
+    }
+
+    private static long[] count(long[] counts, int value) {
+        if (value >= counts.length) counts = Arrays.copyOf(counts, Math.max(value + 1, counts.length * 2));
+        counts[value]++;
+
+        return counts;
+    }
+
+    /**
+     * Adds the other stats to these.
+     *
+     * @param other The stats to add.
+     * @return These stats.
+     */
+    public GameStats merge(GameStats other) {
+        this.games += other.games;
+        this.unreadable += other.unreadable;
+        this.finished += other.finished;
+        this.playerOneWins += other.playerOneWins;
+        this.playerTwoWins += other.playerTwoWins;
+        this.draws += other.draws;
+        this.replayed += other.replayed;
+        this.playerOneStarts += other.playerOneStarts;
+        this.starterWins += other.starterWins;
+        this.starterLosses += other.starterLosses;
+        this.turnCounts = merge(this.turnCounts, other.turnCounts);
+        this.badgeCounts[0] = merge(this.badgeCounts[0], other.badgeCounts[0]);
+        this.badgeCounts[1] = merge(this.badgeCounts[1], other.badgeCounts[1]);
+        this.firstPairs = merge(this.firstPairs, other.firstPairs);
+
+        return this;
+    }
+
+    private static long[] merge(long[] counts, long[] other) {
+        if (other.length > counts.length) counts = Arrays.copyOf(counts, other.length);
+        for (int i = 0; i < other.length; i++) counts[i] += other[i];
+
+        return counts;
+    }
+
+    public long getGames() {
+        return this.games;
+    }
+
+    public long getUnreadable() {
+        return this.unreadable;
+    }
+
+    public long getFinished() {
+        return this.finished;
+    }
+
+    /**
+     * @return How often the player in the given seat won, out of the finished games.
+     */
+    public double getWinRate(int seat) {
+        return rate((seat == PLAYER_ONE) ? this.playerOneWins : this.playerTwoWins, this.finished);
+    }
+
+    public double getDrawRate() {
+        return rate(this.draws, this.finished);
+    }
+
+    /**
+     * @return The amount of finished games that hold their moves, the starter and turn numbers are about these.
+     */
+    public long getReplayed() {
+        return this.replayed;
+    }
+
+    /**
+     * @return How often the coin flip let player one start.
+     */
+    public double getPlayerOneStartRate() {
+        return rate(this.playerOneStarts, this.replayed);
+    }
+
+    public double getStarterWinRate() {
+        return rate(this.starterWins, this.replayed);
+    }
+
+    public double getStarterLossRate() {
+        return rate(this.starterLosses, this.replayed);
+    }
+
+    public double getAverageTurns() {
+        return average(this.turnCounts);
+    }
+
+    /**
+     * Returns the amount of turns that the given fraction of finished games took at most.
+     *
+     * @param percentile A fraction between 0 and 1.
+     */
+    public int getTurnPercentile(double percentile) {
+        var target = (long) Math.ceil(percentile * this.replayed);
+        var seen = 0L;
+
+        for (int turns = 0; turns < this.turnCounts.length; turns++) {
+            seen += this.turnCounts[turns];
+            if (seen >= target && seen > 0) return turns;
+        }
+
+        return 0;
+    }
+
+    public double getAverageBadges(int seat) {
+        return average(this.badgeCounts[seat]);
+    }
+
+    /**
+     * @return The amount of games in which the player in the seat ended with the given amount of badges.
+     */
+    public long getBadgeCount(int seat, int badges) {
+        return (badges < this.badgeCounts[seat].length) ? this.badgeCounts[seat][badges] : 0;
+    }
+
+    /**
+     * @return The amount of games in which the pair with the given id was matched first.
+     */
+    public long getFirstPairCount(int id) {
+        return (id < this.firstPairs.length) ? this.firstPairs[id] : 0;
+    }
+
+    private static double average(long[] counts) {
+        var total = 0L;
+        var sum = 0L;
+
+        for (int i = 0; i < counts.length; i++) {
+            total += counts[i];
+            sum += i * counts[i];
+        }
+
+        return rate(sum, total);
+    }
+
+    private static double rate(long count, long total) {
+        return (total == 0) ? 0 : (double) count / total;
+    }
+
+    /**
+     * Writes a short report of the stats.
+     *
+     * @param out Where to write the report to.
+     */
+    public void write(Appendable out) throws IOException {
+        out.append(String.format("Games:          %s, %s finished, %s with moves, %s unreadable%n", this.games, this.finished, this.replayed, this.unreadable));
+        out.append(String.format("Wins:           player one %.1f%%, player two %.1f%%, draws %.1f%%%n", this.getWinRate(PLAYER_ONE) * 100, this.getWinRate(PLAYER_TWO) * 100, this.getDrawRate() * 100));
+        out.append(String.format("Starter:        wins %.1f%%, loses %.1f%%, player one started %.1f%%%n", this.getStarterWinRate() * 100, this.getStarterLossRate() * 100, this.getPlayerOneStartRate() * 100));
+        out.append(String.format("Turns:          %.1f average, %s p50, %s p90, %s p99%n", this.getAverageTurns(), this.getTurnPercentile(0.5), this.getTurnPercentile(0.9), this.getTurnPercentile(0.99)));
+        out.append(String.format("Badges:         player one %.2f, player two %.2f average%n", this.getAverageBadges(PLAYER_ONE), this.getAverageBadges(PLAYER_TWO)));
+
+        for (int seat = 0; seat < 2; seat++) {
+            out.append(String.format("  %-12s", (seat == PLAYER_ONE) ? "player one" : "player two"));
+
+            for (int badges = 0; badges < this.badgeCounts[seat].length; badges++) {
+                if (this.badgeCounts[seat][badges] > 0) out.append(String.format(" %s:%s", badges, this.badgeCounts[seat][badges]));
+            }
+
+            out.append(System.lineSeparator());
+        }
+
+        out.append("First pair:    ");
+
+        var matched = 0L;
+        for (var count : this.firstPairs) matched += count;
+
+        // The five pairs that were matched first most often.
+        var ids = new Integer[this.firstPairs.length];
+        for (int i = 0; i < ids.length; i++) ids[i] = i;
+        Arrays.sort(ids, (a, b) -> Long.compare(this.firstPairs[b], this.firstPairs[a]));
+
+        for (int i = 0; i < Math.min(5, ids.length) && this.firstPairs[ids[i]] > 0; i++) {
+            out.append(String.format(" %s %.1f%%", ids[i], rate(this.firstPairs[ids[i]], matched) * 100));
+        }
+
+        out.append(System.lineSeparator());
+    }
+
+    void write(DataOutput out) throws IOException {
+        for (var value : new long[]{this.games, this.unreadable, this.finished, this.playerOneWins, this.playerTwoWins, this.draws, this.replayed, this.playerOneStarts, this.starterWins, this.starterLosses}) {
+            out.writeLong(value);
+        }
+
+        for (var counts : new long[][]{this.turnCounts, this.badgeCounts[0], this.badgeCounts[1], this.firstPairs}) {
+            out.writeInt(counts.length);
+            for (var count : counts) out.writeLong(count);
+        }
+    }
+
+    static GameStats read(DataInput in) throws IOException {
+        var stats = new GameStats();
+
+        stats.games = in.readLong();
+        stats.unreadable = in.readLong();
+        stats.finished = in.readLong();
+        stats.playerOneWins = in.readLong();
+        stats.playerTwoWins = in.readLong();
+        stats.draws = in.readLong();
+        stats.replayed = in.readLong();
+        stats.playerOneStarts = in.readLong();
+        stats.starterWins = in.readLong();
+        stats.starterLosses = in.readLong();
+        stats.turnCounts = readCounts(in);
+        stats.badgeCounts[0] = readCounts(in);
+        stats.badgeCounts[1] = readCounts(in);
+        stats.firstPairs = readCounts(in);
+
+        return stats;
+    }
+
+    private static long[] readCounts(DataInput in) throws IOException {
+        var length = in.readInt();
+        if (length < 0 || length > 1 << 24) throw new IOException("Corrupted stats.");
+
+        var counts = new long[length];
+        for (int i = 0; i < length; i++) counts[i] = in.readLong();
+
+        return counts;
+    }
+}
@@ -0,0 +1,64 @@
+package memory.archive;
+
+/**
+ * What the index of an archive knows about one game, without reading the game itself.
+ */
+public class ArchiveEntry {
+    public static final int PLAYER_ONE = 0;
+    public static final int PLAYER_TWO = 1;
+    public static final int DRAW = 2;
+    public static final int UNFINISHED = 3;
+
+    private final int id;
+    private final long date;
+    private final String[] names;
+    private final int[] scores;
+    private final int outcome;
+
+    ArchiveEntry(int id, long date, String[] names, int[] scores, int outcome) {
+        this.id = id;
+        this.date = date;
+        this.names = names;
+        this.scores = scores;
+        this.outcome = outcome;
+    }
+
+    /**
+     * @return The number of the game in the archive, games are numbered from 0 in the order they were added.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * @return When the game was played, in milliseconds.
+     */
+    public long getDate() {
+        return this.date;
+    }
+
+    public String getName(int player) {
+        return this.names[player];
+    }
+
+    /**
+     * @return The amount of badges the player got.
+     */
+    public int getScore(int player) {
+        return this.scores[player];
+    }
+
+    /**
+     * @return {@link #PLAYER_ONE}, {@link #PLAYER_TWO}, {@link #DRAW} or {@link #UNFINISHED}.
+     */
+    public int getOutcome() {
+        return this.outcome;
+    }
+
+    @Override
+    public String toString() {
+        var outcome = (this.outcome == DRAW) ? "draw" : (this.outcome == UNFINISHED) ? "unfinished" : this.names[this.outcome] + " won";
+
+        return String.format("#%s %s %s-%s %s, %s", this.id, this.names[0], this.scores[0], this.scores[1], this.names[1], outcome);
+    }
+}
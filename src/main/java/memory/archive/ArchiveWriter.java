@@ -0,0 +1,319 @@
+package memory.archive;
+
+import memory.model.BinarySaveFile;
+import memory.model.Game;
+import memory.model.SaveFile;
+import memory.model.SaveFileException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Adds games to a new or existing archive, see {@link GameArchive} for the format.
+ * Games are gathered into blocks that are written as they fill up, the index is only written when the writer is closed.
+ * New blocks and the new index always go after the existing trailer, so until the writer is closed, or if it never is,
+ * readers still find every game that was there before through the old trailer. A new archive only becomes readable
+ * once its first writer is closed. A writer isn't thread safe.
+ */
+public class ArchiveWriter implements Closeable {
+    // The raw size a block is filled up to before it's written, a lookup of a deflated game inflates one block.
+    static final int BLOCK_SIZE = 8 * 1024;
+
+    private final FileChannel channel;
+    private final boolean compress;
+    private final List<Record> records = new ArrayList<>();
+    private ByteBuffer blocks;
+    private int blockCount;
+    private long position;
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream(BLOCK_SIZE + 1024);
+    // Only used to decide the outcome of added games the way the game itself does.
+    private final Game game = new Game();
+
+    /**
+     * What the index needs of one game until it's written.
+     */
+    private static class Record {
+        long date;
+        int block;
+        int offset;
+        int length;
+        String[] names;
+        int[] scores;
+        int outcome;
+    }
+
+    private ArchiveWriter(FileChannel channel, boolean compress) {
+        this.channel = channel;
+        this.compress = compress;
+    }
+
+    /**
+     * Opens an archive to add games to, creating it if it doesn't exist.
+     * New games go after the existing trailer, the old index stays in place until the new one is written.
+     *
+     * @param path     The archive.
+     * @param compress Whether to deflate the blocks this writer adds.
+     */
+    public static ArchiveWriter open(Path path, boolean compress) throws IOException, SaveFileException {
+        var existing = (Files.exists(path) && Files.size(path) > 0) ? GameArchive.open(path) : null;
+        var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        var writer = new ArchiveWriter(channel, compress);
+
+        try {
+            if (existing == null) {
+                var header = ByteBuffer.allocate(GameArchive.HEADER).put(GameArchive.MAGIC).put((byte) GameArchive.VERSION);
+                writer.write(header.position(0));
+                writer.blocks = ByteBuffer.allocate(64 * GameArchive.BLOCK);
+            } else {
+                writer.load(existing);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        return writer;
+    }
+
+    /**
+     * Takes over the index of an existing archive.
+     */
+    private void load(GameArchive archive) {
+        for (int id = 0; id < archive.size(); id++) {
+            var entry = archive.getEntry(id);
+            var record = new Record();
+
+            record.date = entry.getDate();
+            record.block = archive.getBlock(id);
+            record.offset = archive.getOffset(id);
+            record.length = archive.getLength(id);
+            record.names = new String[]{entry.getName(0), entry.getName(1)};
+            record.scores = new int[]{entry.getScore(0), entry.getScore(1)};
+            record.outcome = entry.getOutcome();
+
+            this.records.add(record);
+        }
+
+        this.blockCount = archive.getBlockCount();
+        this.blocks = ByteBuffer.allocate(Math.max(64, this.blockCount * 2) * GameArchive.BLOCK).put(archive.copyBlockTable());
+        // Whatever a writer that never got closed left after the last intact trailer gets overwritten.
+        this.position = archive.getLength();
+    }
+
+    /**
+     * Adds a game.
+     *
+     * @param save The game, its seed and moves are kept if it has them.
+     * @param date When the game was played, in milliseconds.
+     * @return The number of the game in the archive.
+     */
+    public int add(SaveFile save, long date) throws IOException {
+        var data = BinarySaveFile.write(save);
+        var record = new Record();
+
+        record.date = date;
+        record.block = this.blockCount;
+        record.offset = this.block.size();
+        record.length = data.remaining();
+        record.names = new String[]{save.getName(0), save.getName(1)};
+        record.scores = new int[]{save.getBadges(0).length, save.getBadges(1).length};
+        record.outcome = this.outcome(save);
+
+        this.block.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        this.records.add(record);
+
+        if (this.block.size() >= BLOCK_SIZE) this.flushBlock();
+
+        return this.records.size() - 1;
+    }
+
+    /**
+     * @return The amount of games in the archive, including the ones this writer added.
+     */
+    public int size() {
+        return this.records.size();
+    }
+
+    /**
+     * Decides who won by loading the save into a game, so it's decided exactly like at the end of a game.
+     */
+    private int outcome(SaveFile save) {
+        this.game.load(save);
+
+        if (!this.game.checkForGameEnd()) return ArchiveEntry.UNFINISHED;
+
+        var winner = this.game.getWinner();
+
+        if (winner == null) return ArchiveEntry.DRAW;
+
+        return (winner == this.game.getplayerOne()) ? ArchiveEntry.PLAYER_ONE : ArchiveEntry.PLAYER_TWO;
+    }
+
+    /**
+     * Writes the block being filled, deflated if that makes it smaller.
+     */
+    private void flushBlock() throws IOException {
+        if (this.block.size() == 0) return;
+
+        var raw = this.block.toByteArray();
+        var stored = ByteBuffer.wrap(raw);
+
+        if (this.compress) {
+            var deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            var deflated = new byte[raw.length];
+
+            deflater.setInput(raw);
+            deflater.finish();
+
+            var length = deflater.deflate(deflated);
+            if (deflater.finished() && length < raw.length) stored = ByteBuffer.wrap(deflated, 0, length);
+
+            deflater.end();
+        }
+
+        if (this.blocks.remaining() < GameArchive.BLOCK) {
+            this.blocks = ByteBuffer.allocate(this.blocks.capacity() * 2).put(this.blocks.flip());
+        }
+
+        this.blocks.putLong(this.position).putInt(stored.remaining()).putInt(raw.length);
+        this.blockCount++;
+
+        this.write(stored);
+        this.block.reset();
+    }
+
+    /**
+     * Writes the last block, the index and the trailer, and makes them durable.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.flushBlock();
+
+            var footer = this.footer();
+            var footerOffset = this.position;
+            var checksum = new CRC32();
+
+            checksum.update(footer.duplicate());
+
+            var trailer = ByteBuffer.allocate(GameArchive.TRAILER)
+                    .putLong(footerOffset)
+                    .putInt(footer.remaining())
+                    .putInt((int) checksum.getValue())
+                    .put(GameArchive.MAGIC)
+                    .flip();
+
+            this.write(footer);
+            this.write(trailer);
+
+            this.channel.truncate(this.position);
+            this.channel.force(true);
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    private ByteBuffer footer() {
+        var games = this.records.size();
+
+        // Names are stored sorted, so a player is found with a binary search.
+        var sorted = new TreeSet<String>();
+        for (var record : this.records) sorted.addAll(Arrays.asList(record.names));
+
+        var names = sorted.toArray(new String[0]);
+        var indices = new HashMap<String, Integer>();
+        for (int i = 0; i < names.length; i++) indices.put(names[i], i);
+
+        var postings = new int[names.length][];
+        var counts = new int[names.length];
+        var total = 0;
+
+        for (var record : this.records) {
+            counts[indices.get(record.names[0])]++;
+            if (!record.names[1].equals(record.names[0])) counts[indices.get(record.names[1])]++;
+        }
+
+        for (int i = 0; i < names.length; i++) {
+            postings[i] = new int[counts[i]];
+            total += counts[i];
+            counts[i] = 0;
+        }
+
+        for (int id = 0; id < games; id++) {
+            var record = this.records.get(id);
+            int one = indices.get(record.names[0]);
+            int two = indices.get(record.names[1]);
+
+            postings[one][counts[one]++] = id;
+            if (two != one) postings[two][counts[two]++] = id;
+        }
+
+        var text = new ByteArrayOutputStream();
+        var textOffsets = new int[names.length];
+        var textLengths = new int[names.length];
+
+        for (int i = 0; i < names.length; i++) {
+            var bytes = names[i].getBytes(StandardCharsets.UTF_8);
+
+            textOffsets[i] = text.size();
+            textLengths[i] = bytes.length;
+            text.writeBytes(bytes);
+        }
+
+        var byDate = new Integer[games];
+        for (int id = 0; id < games; id++) byDate[id] = id;
+        Arrays.sort(byDate, (a, b) -> Long.compare(this.records.get(a).date, this.records.get(b).date));
+
+        var size = GameArchive.COUNTS + games * (GameArchive.ENTRY + 4) + this.blockCount * GameArchive.BLOCK + names.length * GameArchive.NAME + total * 4 + text.size();
+        var footer = ByteBuffer.allocate(size);
+
+        footer.putInt(games).putInt(this.blockCount).putInt(names.length).putInt(total).putInt(text.size());
+
+        for (var record : this.records) {
+            footer.putLong(record.date)
+                    .putInt(record.block)
+                    .putInt(record.offset)
+                    .putInt(record.length)
+                    .putInt(indices.get(record.names[0]))
+                    .putInt(indices.get(record.names[1]))
+                    .putInt(record.scores[0])
+                    .putInt(record.scores[1])
+                    .put((byte) record.outcome)
+                    .put(new byte[3]);
+        }
+
+        footer.put(this.blocks.duplicate().flip());
+
+        var first = 0;
+
+        for (int i = 0; i < names.length; i++) {
+            footer.putInt(textOffsets[i]).putInt(textLengths[i]).putInt(first).putInt(postings[i].length);
+            first += postings[i].length;
+        }
+
+        for (var id : byDate) footer.putInt(id);
+        for (var ids : postings) for (var id : ids) footer.putInt(id);
+
+        footer.put(text.toByteArray());
+
+        return footer.flip();
+    }
+
+    private void write(ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) this.position += this.channel.write(data, this.position);
+    }
+}
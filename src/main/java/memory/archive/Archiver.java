@@ -0,0 +1,106 @@
+package memory.archive;
+
+import memory.model.SaveFile;
+import memory.model.SaveFileException;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Command line entry point for game archives.
+ * <p>
+ * Usage:
+ * <pre>
+ * Archiver pack [--compress] [archive] [save or directory...]   adds .mem and .memb saves, dated by their last modified time
+ * Archiver show [archive] [game]                                prints a game as a .mem save
+ * Archiver player [archive] [name]                              lists a player's games
+ * Archiver dates [archive] [from] [to]                          lists the games played from one day up to another, as yyyy-mm-dd
+ * </pre>
+ */
+public class Archiver {
+    public static void main(String[] args) throws IOException, SaveFileException {
+        if (args.length < 2) {
+            System.out.println("Usage: Archiver pack [--compress] [archive] [save or directory...] | show [archive] [game] | player [archive] [name] | dates [archive] [from] [to]");
+            return;
+        }
+
+        switch (args[0]) {
+            case "pack":
+                pack(args);
+                break;
+            case "show":
+                GameArchive.open(Path.of(args[1])).read(Integer.parseInt(args[2])).write(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+                System.out.println();
+                break;
+            case "player":
+                list(GameArchive.open(Path.of(args[1])), args[2], archive -> archive.findPlayer(args[2]));
+                break;
+            case "dates":
+                var zone = ZoneId.systemDefault();
+                var from = LocalDate.parse(args[2]).atStartOfDay(zone).toInstant().toEpochMilli();
+                var to = LocalDate.parse(args[3]).atStartOfDay(zone).toInstant().toEpochMilli();
+
+                list(GameArchive.open(Path.of(args[1])), args[2] + " to " + args[3], archive -> archive.findDates(from, to));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown command " + args[0] + ", use pack, show, player or dates.");
+        }
+    }
+
+    private static void pack(String[] args) throws IOException, SaveFileException {
+        var compress = args[1].equals("--compress");
+        var first = compress ? 2 : 1;
+        var start = System.nanoTime();
+        var added = 0;
+        var skipped = 0;
+
+        try (var writer = ArchiveWriter.open(Path.of(args[first]), compress)) {
+            for (int i = first + 1; i < args.length; i++) {
+                List<Path> saves;
+
+                try (var paths = Files.walk(Path.of(args[i]))) {
+                    saves = paths.filter(path -> path.toString().endsWith(".mem") || path.toString().endsWith(".memb"))
+                            .sorted()
+                            .collect(Collectors.toList());
+                }
+
+                for (var path : saves) {
+                    SaveFile save;
+
+                    try {
+                        save = SaveFile.read(path);
+                    } catch (IOException | SaveFileException e) {
+                        System.out.printf("Skipped %s: %s%n", path, e.getMessage());
+                        skipped++;
+                        continue;
+                    }
+
+                    writer.add(save, Files.getLastModifiedTime(path).toMillis());
+                    added++;
+                }
+            }
+
+            System.out.printf("Added %s saves, skipped %s, the archive holds %s games%n", added, skipped, writer.size());
+        }
+
+        System.out.printf("Packed in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+    }
+
+    private static void list(GameArchive archive, String query, Function<GameArchive, int[]> lookup) {
+        var start = System.nanoTime();
+        var ids = lookup.apply(archive);
+        var took = (System.nanoTime() - start) / 1e6;
+
+        for (var id : ids) System.out.println(archive.getEntry(id));
+
+        System.out.printf("%s games for %s, found in %.3f ms%n", ids.length, query, took);
+    }
+}
@@ -0,0 +1,395 @@
+package memory.archive;
+
+import memory.model.BinarySaveFile;
+import memory.model.SaveFile;
+import memory.model.SaveFileException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Many games in one .mema file, read through a memory-mapped index instead of scanning the games.
+ * Games are stored as binary saves, packed into blocks that can be deflated. The index sits in a footer after the blocks.
+ *
+ * <pre>
+ * magic "MEMA", version, 3 reserved bytes
+ * blocks                         binary saves back to back, deflated if the stored length is below the raw length
+ * footer
+ *   games, blocks, names, postings, text length
+ *   entries    per game: date, block, offset, length, 2x name, 2x score, outcome, 3 padding bytes
+ *   blocks     per block: file offset, stored length, raw length
+ *   names      sorted, per name: text offset, text length, first posting, posting count
+ *   by date    game ids sorted by date
+ *   postings   per name, the ids of its games in ascending order
+ *   text       the names in UTF-8
+ * trailer                        footer offset, footer length, CRC32 of the footer, magic "MEMA"
+ * </pre>
+ * <p>
+ * Adding games appends their blocks and a new footer and trailer after the old trailer, so an archive can hold older
+ * indexes that are no longer used. The last trailer that points at an intact footer is the one that counts.
+ * <p>
+ * Games are numbered in the order they were added, so a game is found by its number directly.
+ * A player's games and the games between two dates take a binary search in the index.
+ * Reads only use absolute positions on the mapped file, an archive can be read from any number of threads.
+ */
+public class GameArchive {
+    public static final String EXTENSION = ".mema";
+
+    static final byte[] MAGIC = {'M', 'E', 'M', 'A'};
+    static final int VERSION = 1;
+    static final int HEADER = 8;
+    static final int TRAILER = 20;
+    static final int COUNTS = 20;
+    static final int ENTRY = 40;
+    static final int BLOCK = 16;
+    static final int NAME = 16;
+
+    // Deflated blocks that were read recently, games of one player or one day tend to sit in the same blocks.
+    private static final int CACHED_BLOCKS = 8;
+
+    private final ByteBuffer data;
+    private final int footerOffset;
+    // The end of the last intact trailer, anything after it was left by a writer that never got closed.
+    private final int length;
+    private final int games;
+    private final int blocks;
+    private final int names;
+    private final int entries;
+    private final int blockTable;
+    private final int nameTable;
+    private final int byDate;
+    private final int postings;
+    private final int text;
+    private final Map<Integer, ByteBuffer> inflated = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, ByteBuffer> eldest) {
+            return this.size() > CACHED_BLOCKS;
+        }
+    };
+
+    private GameArchive(ByteBuffer data) throws SaveFileException {
+        if (data.limit() < HEADER + TRAILER + COUNTS) throw new SaveFileException("The file is too short to be an archive.", 0);
+        if (!matches(data, 0)) throw new SaveFileException("The file isn't an archive.", 0);
+        if ((data.get(4) & 0xFF) > VERSION) throw new SaveFileException(String.format("Version %s is newer than this game.", data.get(4) & 0xFF), 4);
+
+        var end = findEnd(data);
+
+        this.data = data.limit(end);
+        this.footerOffset = (int) data.getLong(end - TRAILER);
+        this.length = end;
+
+        var footerLength = data.getInt(end - TRAILER + 8);
+
+        this.games = data.getInt(this.footerOffset);
+        this.blocks = data.getInt(this.footerOffset + 4);
+        this.names = data.getInt(this.footerOffset + 8);
+
+        var postings = data.getInt(this.footerOffset + 12);
+        var textLength = data.getInt(this.footerOffset + 16);
+
+        this.entries = this.footerOffset + COUNTS;
+        this.blockTable = this.entries + this.games * ENTRY;
+        this.nameTable = this.blockTable + this.blocks * BLOCK;
+        this.byDate = this.nameTable + this.names * NAME;
+        this.postings = this.byDate + this.games * 4;
+        this.text = this.postings + postings * 4;
+
+        if (this.games < 0 || this.blocks < 0 || this.names < 0 || postings < 0 || textLength < 0
+                || COUNTS + (long) this.games * (ENTRY + 4) + (long) this.blocks * BLOCK + (long) this.names * NAME + postings * 4L + textLength != footerLength) {
+            throw new SaveFileException("The counts in the index don't add up.", this.footerOffset);
+        }
+    }
+
+    /**
+     * Maps an archive into memory and checks its index.
+     *
+     * @param path The archive.
+     */
+    public static GameArchive open(Path path) throws IOException, SaveFileException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) throw new SaveFileException("Archives over 2 GB aren't supported, split the games over more archives.", 0);
+
+            return new GameArchive(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Finds the end of the archive, the last trailer that points at an intact index.
+     * A writer appends its games after the trailer and only writes a new index when it's closed, so if it dies halfway
+     * the file ends in blocks without an index and the trailer before them still holds every game that was there.
+     */
+    private static int findEnd(ByteBuffer data) throws SaveFileException {
+        var size = data.limit();
+
+        try {
+            checkTrailer(data, size - TRAILER);
+            return size;
+        } catch (SaveFileException e) {
+            for (int trailer = size - TRAILER - 1; trailer >= HEADER + COUNTS; trailer--) {
+                if (!matches(data, trailer + TRAILER - MAGIC.length)) continue;
+
+                try {
+                    checkTrailer(data, trailer);
+                    return trailer + TRAILER;
+                } catch (SaveFileException ignored) {
+                    // Block data that happens to contain the magic, keep looking.
+                }
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Checks that the trailer at the given position points at an index right before it with a matching checksum.
+     */
+    private static void checkTrailer(ByteBuffer data, int trailer) throws SaveFileException {
+        if (!matches(data, trailer + TRAILER - MAGIC.length)) throw new SaveFileException("The archive has no index, it wasn't closed properly.", trailer + TRAILER - MAGIC.length);
+
+        var footerOffset = data.getLong(trailer);
+        var footerLength = data.getInt(trailer + 8);
+
+        if (footerOffset < HEADER || footerLength < COUNTS || footerOffset + footerLength != trailer) {
+            throw new SaveFileException("The index is out of bounds.", trailer);
+        }
+
+        var checksum = new CRC32();
+        checksum.update(data.duplicate().position((int) footerOffset).limit(trailer));
+
+        if ((int) checksum.getValue() != data.getInt(trailer + 12)) {
+            throw new SaveFileException("The checksum of the index doesn't match, the archive is corrupted.", trailer + 12);
+        }
+    }
+
+    private static boolean matches(ByteBuffer data, int position) {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data.get(position + i) != MAGIC[i]) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return The amount of games in the archive.
+     */
+    public int size() {
+        return this.games;
+    }
+
+    /**
+     * Returns what the index knows about a game.
+     *
+     * @param id The number of the game.
+     */
+    public ArchiveEntry getEntry(int id) {
+        var entry = this.entry(id);
+        var names = new String[]{this.name(this.data.getInt(entry + 20)), this.name(this.data.getInt(entry + 24))};
+        var scores = new int[]{this.data.getInt(entry + 28), this.data.getInt(entry + 32)};
+
+        return new ArchiveEntry(id, this.data.getLong(entry), names, scores, this.data.get(entry + 36));
+    }
+
+    /**
+     * Reads a game.
+     *
+     * @param id The number of the game.
+     */
+    public SaveFile read(int id) throws SaveFileException {
+        var entry = this.entry(id);
+        var block = this.getBlock(id);
+
+        if (block < 0 || block >= this.blocks) throw new SaveFileException(String.format("Game %s points at block %s, which doesn't exist.", id, block), entry + 8);
+
+        var offset = this.data.getInt(entry + 12);
+        var length = this.data.getInt(entry + 16);
+        var raw = this.data.getInt(this.blockTable + block * BLOCK + 12);
+
+        if (offset < 0 || length < 0 || offset + length > raw) throw new SaveFileException(String.format("Game %s runs past the end of its block.", id), entry);
+
+        var game = this.block(block).position(offset).limit(offset + length);
+
+        try {
+            return BinarySaveFile.read(game.slice());
+        } catch (SaveFileException e) {
+            throw new SaveFileException(String.format("Game %s: %s", id, e.getMessage()), this.blockOffset(block) + offset + e.getOffset());
+        }
+    }
+
+    /**
+     * Returns the games a player played in, in the order they were added.
+     *
+     * @param name The name of the player.
+     */
+    public int[] findPlayer(String name) {
+        var low = 0;
+        var high = this.names - 1;
+
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var compared = this.name(middle).compareTo(name);
+
+            if (compared < 0) {
+                low = middle + 1;
+            } else if (compared > 0) {
+                high = middle - 1;
+            } else {
+                var row = this.nameTable + middle * NAME;
+                var first = this.data.getInt(row + 8);
+                var result = new int[this.data.getInt(row + 12)];
+
+                for (int i = 0; i < result.length; i++) result[i] = this.data.getInt(this.postings + (first + i) * 4);
+
+                return result;
+            }
+        }
+
+        return new int[0];
+    }
+
+    /**
+     * Returns the games played in a period, from the oldest to the newest.
+     *
+     * @param from The start of the period in milliseconds, inclusive.
+     * @param to   The end of the period in milliseconds, exclusive.
+     */
+    public int[] findDates(long from, long to) {
+        var start = this.firstDate(from);
+        var end = Math.max(start, this.firstDate(to));
+        var result = new int[end - start];
+
+        for (int i = 0; i < result.length; i++) result[i] = this.data.getInt(this.byDate + (start + i) * 4);
+
+        return result;
+    }
+
+    /**
+     * @return The position in the by date table of the first game played at or after the date.
+     */
+    private int firstDate(long date) {
+        var low = 0;
+        var high = this.games;
+
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            var id = this.data.getInt(this.byDate + middle * 4);
+
+            if (this.data.getLong(this.entry(id)) < date) low = middle + 1;
+            else high = middle;
+        }
+
+        return low;
+    }
+
+    /**
+     * @return The names of every player, sorted.
+     */
+    public String[] getNames() {
+        var result = new String[this.names];
+
+        for (int i = 0; i < result.length; i++) result[i] = this.name(i);
+
+        return result;
+    }
+
+    private int entry(int id) {
+        if (id < 0 || id >= this.games) throw new IndexOutOfBoundsException(String.format("Game %s isn't in an archive of %s games.", id, this.games));
+
+        return this.entries + id * ENTRY;
+    }
+
+    private String name(int index) {
+        if (index < 0 || index >= this.names) return "";
+
+        var row = this.nameTable + index * NAME;
+        var bytes = new byte[this.data.getInt(row + 4)];
+
+        this.data.duplicate().position(this.text + this.data.getInt(row)).get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a block's games, inflating the block if it's stored deflated.
+     *
+     * @return A buffer positioned at the first game of the block.
+     */
+    private ByteBuffer block(int block) throws SaveFileException {
+        var row = this.blockTable + block * BLOCK;
+        var offset = this.blockOffset(block);
+        var stored = this.data.getInt(row + 8);
+        var raw = this.data.getInt(row + 12);
+
+        if (offset < HEADER || stored < 0 || raw < 0 || offset + stored > this.footerOffset) throw new SaveFileException(String.format("Block %s is out of bounds.", block), row);
+
+        var contents = this.data.duplicate().position(offset).limit(offset + stored).slice();
+
+        if (stored == raw) return contents;
+
+        synchronized (this.inflated) {
+            var cached = this.inflated.get(block);
+            if (cached != null) return cached.duplicate();
+        }
+
+        var inflater = new Inflater();
+        var result = ByteBuffer.allocate(raw);
+
+        try {
+            inflater.setInput(contents);
+            inflater.inflate(result);
+
+            if (!inflater.finished() || result.hasRemaining()) throw new SaveFileException(String.format("Block %s doesn't inflate to %s bytes.", block, raw), offset);
+        } catch (DataFormatException e) {
+            throw new SaveFileException(String.format("Block %s is corrupted: %s", block, e.getMessage()), offset);
+        } finally {
+            inflater.end();
+        }
+
+        result.flip();
+
+        synchronized (this.inflated) {
+            this.inflated.put(block, result);
+        }
+
+        return result.duplicate();
+    }
+
+    int getBlockCount() {
+        return this.blocks;
+    }
+
+    int getLength() {
+        return this.length;
+    }
+
+    /**
+     * Copies the rows of the block table, an appending writer keeps them as they are.
+     */
+    ByteBuffer copyBlockTable() {
+        return ByteBuffer.allocate(this.blocks * BLOCK).put(this.data.duplicate().position(this.blockTable).limit(this.nameTable)).flip();
+    }
+
+    int getBlock(int id) {
+        return this.data.getInt(this.entry(id) + 8);
+    }
+
+    int getOffset(int id) {
+        return this.data.getInt(this.entry(id) + 12);
+    }
+
+    int getLength(int id) {
+        return this.data.getInt(this.entry(id) + 16);
+    }
+
+    private int blockOffset(int block) {
+        return (int) this.data.getLong(this.blockTable + block * BLOCK);
+    }
+}
@@ -1,31 +1,42 @@
 package memory.controller;
 
 import javafx.animation.FadeTransition;
-import javafx.fxml.FXML;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.util.Duration;
 import memory.model.Badge;
+import memory.util.Atlas;
 
 public class BadgeController {
-    @FXML
-    private ImageView display;
+    public static final int SIZE = 25;
+    private static final Duration FADE_DELAY = Duration.seconds(1);
 
-    private Image image;
+    private final ImageView display;
+    private final TransitionScheduler scheduler;
+    private final FadeTransition transition;
 
-    public BadgeController(Badge badge) {
-        this.image = new Image(badge.getUrl());
-    }
+    public BadgeController(Badge badge, ImageView display, TransitionScheduler scheduler) {
+        this.display = display;
+        this.scheduler = scheduler;
 
-    @FXML
-    protected void initialize() {
         this.display.setOpacity(0);
-        this.display.setImage(this.image);
+        Atlas.display(this.display, badge.getUrl(), SIZE);
+
+        this.transition = new FadeTransition(Duration.millis(400), this.display);
+        this.transition.setFromValue(0.0);
+        this.transition.setToValue(1.0);
+
+        this.scheduler.schedule(this, FADE_DELAY, this.transition::play);
+    }
+
+    public ImageView getDisplay() {
+        return this.display;
+    }
 
-        var transition = new FadeTransition(Duration.millis(400), this.display);
-        transition.setDelay(Duration.seconds(1));
-        transition.setFromValue(0.0);
-        transition.setToValue(1.0);
-        transition.play();
+    /**
+     * Stops the fade, waiting or running, before the view gets recycled for another badge.
+     */
+    public void release() {
+        this.scheduler.release(this);
+        this.transition.stop();
     }
 }
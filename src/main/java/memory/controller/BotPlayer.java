@@ -0,0 +1,141 @@
+package memory.controller;
+
+import javafx.application.Platform;
+import javafx.util.Duration;
+import memory.model.Game;
+import memory.model.SaveFile;
+import memory.model.event.CardFlipped;
+import memory.model.event.GameStarted;
+import memory.model.event.TurnPassed;
+import memory.simulation.Strategy;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Lets a strategy play the turns of the second player.
+ * The strategy only lives on its own thread: flipped cards are queued to it and the card it picks is animated
+ * on the FX thread, so thinking never holds up a frame.
+ * The strategy never reads the live game: it decides on a copy of its own that's taken once per game and then follows
+ * the flipped cards and passed turns in the same queue, so a new game or a load on the FX thread can't change the board
+ * under it and a decision doesn't cost more on a larger board.
+ */
+class BotPlayer {
+    /**
+     * How long the computer waits before it turns a card, long enough for the previous turn's cards to have turned back.
+     */
+    static final Duration FIRST_CARD_DELAY = CardController.REVEAL.add(Duration.millis(700));
+    static final Duration SECOND_CARD_DELAY = Duration.millis(400);
+
+    private final Game game;
+    private final GameController gameController;
+    private final TransitionScheduler scheduler;
+    private final ExecutorService thinker = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "bot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only used on the FX thread. A new game or strategy bumps the generation, which drops picks that were still coming.
+    private Supplier<? extends Strategy> strategies;
+    private int generation = 0;
+
+    // Only used on the thinker thread.
+    private Strategy strategy;
+    private final Game scratch = new Game();
+    private final SplittableRandom random = new SplittableRandom();
+
+    BotPlayer(Game game, GameController gameController, TransitionScheduler scheduler) {
+        this.game = game;
+        this.gameController = gameController;
+        this.scheduler = scheduler;
+
+        var events = game.getEvents();
+
+        events.on(GameStarted.class, e -> this.restart());
+        events.on(TurnPassed.class, e -> {
+            if (this.strategies != null) this.thinker.execute(this.scratch::calculatePair);
+            this.play(FIRST_CARD_DELAY);
+        });
+        events.on(CardFlipped.class, e -> {
+            var index = e.getIndex();
+            var id = e.getId();
+
+            if (this.strategies != null) {
+                this.thinker.execute(() -> {
+                    this.scratch.addSelectedCard(index);
+                    this.strategy.reveal(index, id);
+                });
+            }
+
+            if (this.game.getSelectedCount() == 1) this.play(SECOND_CARD_DELAY);
+        });
+    }
+
+    /**
+     * Puts the computer in the second player's seat with a fresh memory, or leaves the seat to a person.
+     *
+     * @param strategies Creates the strategy for every game, or null to play against a person.
+     */
+    void setStrategy(Supplier<? extends Strategy> strategies) {
+        this.strategies = strategies;
+        this.restart();
+    }
+
+    /**
+     * @return true while the computer is on turn, people can't turn cards then.
+     */
+    boolean isPlaying() {
+        return this.strategies != null && this.game.getCurrentPlayer() == this.game.getplayerTwo() && !this.game.checkForGameEnd();
+    }
+
+    private void restart() {
+        this.generation++;
+        this.scheduler.cancel(this);
+
+        if (this.strategies == null) return;
+
+        var next = this.strategies.get();
+        // The one copy of the board per game, the thinker keeps it up to date from the events after this.
+        var save = SaveFile.of(this.game);
+        var selected = new int[this.game.getSelectedCount()];
+        for (int i = 0; i < selected.length; i++) selected[i] = this.game.getSelectedCard(i);
+
+        this.thinker.execute(() -> {
+            this.strategy = next;
+            this.scratch.load(save);
+            for (int index : selected) this.scratch.addSelectedCard(index);
+        });
+
+        this.play(FIRST_CARD_DELAY);
+    }
+
+    /**
+     * Lets the computer pick a card after the delay, if it's on turn.
+     */
+    private void play(Duration delay) {
+        if (!this.isPlaying()) return;
+
+        this.scheduler.schedule(this, delay, this::think);
+    }
+
+    private void think() {
+        if (!this.isPlaying() || this.game.getSelectedCount() == 2) return;
+
+        var generation = this.generation;
+
+        this.thinker.execute(() -> {
+            var index = this.strategy.select(this.scratch, this.random);
+
+            Platform.runLater(() -> this.flip(generation, index));
+        });
+    }
+
+    private void flip(int generation, int index) {
+        if (generation != this.generation || !this.isPlaying()) return;
+
+        this.gameController.flipCard(index);
+    }
+}
@@ -1,50 +1,137 @@
 package memory.controller;
 
+import javafx.animation.Animation;
 import javafx.animation.FadeTransition;
 import javafx.animation.RotateTransition;
-import javafx.fxml.FXML;
-import javafx.scene.image.Image;
+import javafx.scene.effect.DropShadow;
 import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
 import javafx.scene.transform.Rotate;
 import javafx.util.Duration;
+import memory.jfr.CardFlipEvent;
 import memory.model.Card;
 import memory.model.Game;
+import memory.util.Atlas;
+import memory.util.Startup;
 
-import java.util.function.Consumer;
+import java.util.ArrayList;
+import java.util.List;
 
-public class CardController implements Consumer<Card> {
-    @FXML
-    private ImageView display;
+public class CardController {
+    public static final int SIZE = 100;
+
+    /**
+     * How long a turned card stays visible before it's hidden or removed.
+     */
+    public static final Duration REVEAL = Duration.seconds(1);
+
+    private static final Duration HINT_DURATION = Duration.seconds(1.5);
+    private static final DropShadow HINT = new DropShadow(24, Color.GOLD);
+
+    private final ImageView display;
+    private final List<Animation> animations = new ArrayList<>();
 
     private Card card;
     private Game game;
-    private Image image;
     private GameController gameController;
+    private TransitionScheduler scheduler;
+    private long clicked;
 
-    public CardController(Card card, Game game, GameController gameController) {
-        this.card = card;
+    public CardController(ImageView display, Game game, GameController gameController, TransitionScheduler scheduler) {
+        this.display = display;
         this.game = game;
         this.gameController = gameController;
+        this.scheduler = scheduler;
 
-        this.card.observe(this);
-        this.image = new Image(this.card.getCover());
+        this.display.setOnMouseClicked(e -> select());
     }
 
-    @FXML
-    protected void initialize() {
+    /**
+     * Shows the given card in this controller's view.
+     * Stops whatever the view was still animating for the previous card.
+     *
+     * @param card The card to show.
+     */
+    public void bind(Card card) {
+        this.scheduler.cancel(this);
+        this.scheduler.cancel(this.display);
+        this.animations.forEach(Animation::stop);
+        this.animations.clear();
+
+        this.display.setOpacity(1);
+        this.display.setRotate(0);
+        this.display.setEffect(null);
+
+        this.card = card;
+
         if (card.getId() != -1) {
-            this.display.setImage(image);
-            this.display.setOnMouseClicked(e -> select());
+            Atlas.display(this.display, this.card.getCover(), SIZE);
+            this.display.setDisable(false);
         } else {
+            this.display.setImage(null);
             this.display.setDisable(true);
         }
     }
 
+    public ImageView getDisplay() {
+        return this.display;
+    }
+
+    /**
+     * Stops everything the view is animating or waiting to animate, before it goes back to the node factory.
+     */
+    void release() {
+        this.scheduler.release(this);
+        this.scheduler.release(this.display);
+        this.animations.forEach(Animation::stop);
+        this.animations.clear();
+    }
+
+    /**
+     * Keeps track of the given animations so they can be stopped when the view gets another card.
+     * An animation is forgotten once it finishes, call this after setting its on finished handler.
+     *
+     * @param animations The animations.
+     */
+    private void track(Animation... animations) {
+        for (var animation : animations) {
+            var onFinished = animation.getOnFinished();
+
+            animation.setOnFinished(event -> {
+                this.animations.remove(animation);
+                if (onFinished != null) onFinished.handle(event);
+            });
+
+            this.animations.add(animation);
+        }
+    }
+
     /**
      * Selects the card if the grid isn't disabled.
      */
     private void select() {
-        if (!this.gameController.gridIsDisabled()) this.show();
+        if (this.gameController.gridIsDisabled()) return;
+
+        Startup.click();
+
+        this.clicked = System.nanoTime();
+        this.show();
+    }
+
+    /**
+     * Turns the card for the computer player, it's the computer's turn so the grid is closed to clicks.
+     */
+    void flip() {
+        this.clicked = System.nanoTime();
+        this.show();
+    }
+
+    /**
+     * Makes the card glow for a moment to point it out.
+     */
+    void hint() {
+        this.display.setEffect(HINT);
+        this.scheduler.schedule(this.display, HINT_DURATION, () -> this.display.setEffect(null));
     }
 
     /**
@@ -55,6 +142,9 @@ public class CardController implements Consumer<Card> {
         this.display.setDisable(true);
         this.card.show(true);
 
+        var flip = new CardFlipEvent(this.card.getIndex(), this.card.getId(), true);
+        flip.begin();
+
         var firstHalf = new RotateTransition(Duration.millis(200), this.display);
         var secondHalf = new RotateTransition(Duration.millis(300), this.display);
 
@@ -63,65 +153,63 @@ public class CardController implements Consumer<Card> {
         firstHalf.setToAngle(270);
         firstHalf.setOnFinished(event -> {
             secondHalf.play();
-            this.display.setImage(new Image(this.card.getUrl()));
+            Atlas.display(this.display, this.card.getUrl(), SIZE);
         });
 
         secondHalf.setAxis(Rotate.Y_AXIS);
         secondHalf.setFromAngle(270);
         secondHalf.setToAngle(360);
         secondHalf.setOnFinished(event -> {
-            this.game.addSelectedCard(this.card);
+            flip.commit();
+            this.gameController.getPerformanceHud().recordFlip(System.nanoTime() - this.clicked);
+            this.game.addSelectedCard(this.card.getIndex());
             this.gameController.enableGrid();
         });
 
+        this.track(firstHalf, secondHalf);
         firstHalf.play();
     }
 
     /**
-     * Hides the image.
+     * Hides the image after the player has had a look at it.
      */
-    private void hide() {
+    void hide() {
         var firstHalf = new RotateTransition(Duration.millis(200), this.display);
         var secondHalf = new RotateTransition(Duration.millis(300), this.display);
+        var flip = new CardFlipEvent(this.card.getIndex(), this.card.getId(), false);
 
-        firstHalf.setDelay(Duration.seconds(1));
         firstHalf.setAxis(Rotate.Y_AXIS);
         firstHalf.setFromAngle(360);
         firstHalf.setToAngle(270);
         firstHalf.setOnFinished(event -> {
             secondHalf.play();
-            this.display.setImage(new Image(this.card.getCover()));
+            Atlas.display(this.display, this.card.getCover(), SIZE);
             this.display.setDisable(false);
         });
 
         secondHalf.setAxis(Rotate.Y_AXIS);
         secondHalf.setFromAngle(270);
         secondHalf.setToAngle(360);
+        secondHalf.setOnFinished(event -> flip.commit());
 
-        firstHalf.play();
+        this.track(firstHalf, secondHalf);
+        this.scheduler.schedule(this, REVEAL, () -> {
+            flip.begin();
+            firstHalf.play();
+        });
     }
 
     /**
-     * Removes the image from the grid.
+     * Removes the image from the grid after the player has had a look at it.
      */
-    private void vanish() {
+    void vanish() {
         this.display.setDisable(true);
 
         var transition = new FadeTransition(Duration.millis(300), this.display);
-        transition.setDelay(Duration.seconds(1));
         transition.setFromValue(1.0);
         transition.setToValue(0.0);
-        transition.play();
-    }
-
-    @Override
-    public void accept(Card card) {
-        if (card == null) return;
-
-        if (this.card.getId() == -1) this.vanish();
 
-        if (this.card.isSelected()) this.hide();
-
-        this.card = card;
+        this.track(transition);
+        this.scheduler.schedule(this, REVEAL, transition::play);
     }
 }
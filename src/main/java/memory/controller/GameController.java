@@ -1,5 +1,9 @@
 package memory.controller;
 
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.event.ActionEvent;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.fxml.FXML;
@@ -7,105 +11,362 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonBar;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.CheckMenuItem;
+import javafx.scene.control.Label;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
+import javafx.util.Duration;
+import memory.jfr.Recordings;
+import memory.library.SaveLibrary;
+import memory.jfr.RenderEvent;
+import memory.model.BinarySaveFile;
+import memory.model.Card;
 import memory.model.Game;
+import memory.model.History;
+import memory.model.Journal;
 import memory.model.Player;
+import memory.model.SaveFile;
+import memory.model.SaveFileException;
+import memory.model.event.BadgeAwarded;
+import memory.model.event.CardFlipped;
+import memory.model.event.GameEnded;
+import memory.model.event.PairMatched;
+import memory.model.event.PairMissed;
+import memory.model.event.TurnPassed;
+import memory.simulation.BotStrategy;
+import memory.solver.Hints;
+import memory.solver.Knowledge;
+import memory.solver.Solver;
+import memory.util.Atlas;
+import memory.util.Startup;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+public class GameController {
+    private static final System.Logger LOGGER = System.getLogger(GameController.class.getName());
+    private static final Path HOME = Path.of(System.getProperty("user.home"), ".memory");
+    private static final Path SAVES = Paths.get(".").toAbsolutePath().normalize().resolve("src/main/resources/saves");
+    private static final Duration PROGRESS_DELAY = Duration.millis(300);
+    // How many cards the first assembly of the grid adds per frame.
+    private static final int CARDS_PER_FRAME = 12;
+    private static final String SNAPSHOT = "snapshot";
 
-public class GameController implements Consumer<Game> {
     @FXML
     private VBox wrapper;
     @FXML
     private GridPane grid;
+    @FXML
+    private MenuItem recording;
+    @FXML
+    private CheckMenuItem hudToggle;
+    @FXML
+    private Label hud;
 
     private Game game;
+    private Journal journal;
     private PlayerController playerOneController;
     private PlayerController playerTwoController;
+    private final List<CardController> cardControllers = new ArrayList<>();
+    private final NodeFactory nodeFactory = new NodeFactory();
+    private final TransitionScheduler scheduler = new TransitionScheduler();
+    private final ExecutorService io = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "save-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private PerformanceHud performanceHud;
+    private final SaveLibrary library = new SaveLibrary(SAVES, HOME.resolve("library.index"));
+    private SaveBrowser browser;
+    private final BotPlayer bot;
+    private final Hints hints;
+    private final History history;
+    // Opened on the io thread so the first hint doesn't have to wait for the table.
+    private volatile Solver solver;
     private BooleanProperty disabled = new SimpleBooleanProperty(false);
+    // Fills the grid over the first frames after the window is shown, null once it's done.
+    private AnimationTimer assembler;
+    // Set once the autosave has been read on the io thread, the assembly waits for it.
+    private boolean recovered = false;
 
     public GameController() {
         this.game = new Game();
 
-        this.game.observe(this);
+        this.subscribe();
+        this.hints = new Hints(this.game);
+        this.history = new History(this.game);
+        this.bot = new BotPlayer(this.game, this, this.scheduler);
+
+        // A long journal takes a while to replay, the window is shown in the meantime.
+        this.io.execute(() -> {
+            var journal = openJournal();
+            var save = recover(journal);
+
+            Platform.runLater(() -> this.applyRecovery(journal, save));
+        });
+    }
+
+    /**
+     * Replays the autosave into a game of its own, on the io thread.
+     *
+     * @param journal The autosave, or null if it couldn't be opened.
+     * @return The recovered game, or null if there's none or it has already ended.
+     */
+    private static SaveFile recover(Journal journal) {
+        if (journal == null) return null;
+
+        var game = new Game();
+        if (!journal.recover(game) || game.checkForGameEnd()) return null;
+
+        return SaveFile.of(game);
+    }
+
+    /**
+     * Puts the recovered game, or a new one, in place before the grid gets assembled and starts the autosave.
+     * A game that was started before the autosave was read is kept.
+     */
+    private void applyRecovery(Journal journal, SaveFile save) {
+        if (this.assembler != null) {
+            if (save != null) this.game.load(save);
+            else this.game.start();
+        }
+
+        this.journal = journal;
+        if (this.journal != null) this.journal.attach(this.game);
+
+        this.recovered = true;
+        Startup.mark("recovered");
+    }
+
+    /**
+     * Routes the game's events to the views they concern.
+     */
+    private void subscribe() {
+        var events = this.game.getEvents();
+
+        events.on(CardFlipped.class, e -> {
+            if (this.game.getSelectedCount() == 2) this.checkForPair();
+        });
+        events.on(PairMatched.class, e -> {
+            this.cardControllers.get(e.getFirst()).vanish();
+            this.cardControllers.get(e.getSecond()).vanish();
+        });
+        events.on(PairMissed.class, e -> {
+            this.cardControllers.get(e.getFirst()).hide();
+            this.cardControllers.get(e.getSecond()).hide();
+        });
+        events.on(BadgeAwarded.class, e -> {
+            if (e.getPlayer() == this.playerOneController.getPlayer()) this.playerOneController.addBadge(e.getBadge());
+            if (e.getPlayer() == this.playerTwoController.getPlayer()) this.playerTwoController.addBadge(e.getBadge());
+        });
+        events.on(TurnPassed.class, e -> {
+            this.playerOneController.highlight();
+            this.playerTwoController.highlight();
+        });
+        events.on(GameEnded.class, this::showGameEnd);
+    }
+
+    /**
+     * Writes the moves the autosave still holds and stops it, called when the application stops.
+     */
+    public void close() {
+        if (this.journal != null) this.journal.close();
+    }
+
+    /**
+     * Opens the autosave journal, the game still works without one.
+     */
+    private static Journal openJournal() {
+        try {
+            return new Journal(HOME);
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Autosave is unavailable", e);
+            return null;
+        }
     }
 
     @FXML
     protected void initialize() {
         this.grid.disableProperty().bindBidirectional(this.disabled);
+        this.recording.setText(Recordings.isRecording() ? "Stop Recording" : "Start Recording");
+        this.performanceHud = new PerformanceHud(this.hud);
 
-        this.renderPlayers();
-        this.renderCards(this.game.generateCards());
+        this.assemble();
     }
 
     /**
-     * Render the grid based off of .mem-like data.
+     * Fills in the players and the grid over the first frames, so the window shows up before the cards are built.
+     * The grid stays closed until every card is in, work nobody waits for is started after that.
      */
-    private void renderCards(List<Integer> data) {
-        var row = 1;
-        var column = 1;
-
-        this.game.loadCards(data);
+    private void assemble() {
+        this.disableGrid();
 
-        this.grid.getChildren().clear();
+        this.assembler = new AnimationTimer() {
+            private int next = -1;
 
-        for (int i = 0; i < 36; i++) {
-            try {
-                var view = this.getClass().getResource("/views/components/card.fxml");
-                var loader = new FXMLLoader(view);
-                loader.setController(new CardController(this.game.getCards().get(i), game, this));
+            @Override
+            public void handle(long now) {
+                if (!GameController.this.recovered) return;
 
-                this.grid.add(loader.load(), column, row);
+                var size = GameController.this.game.getBoard().size();
 
-                if ((i + 1) % 6 == 0) {
-                    row++;
-                    column = 1;
-                } else {
-                    column++;
+                if (this.next == -1) {
+                    GameController.this.warmUpImages();
+                    GameController.this.renderPlayers();
+                    this.next = 0;
+                    return;
                 }
 
-            } catch (IOException ignored) {
+                var event = new RenderEvent("cards");
+                event.begin();
+
+                var end = Math.min(this.next + CARDS_PER_FRAME, size);
+                for (; this.next < end; this.next++) GameController.this.renderCard(this.next);
+
+                event.nodes = end;
+                event.commit();
+
+                if (this.next < size) return;
+
+                GameController.this.assembled();
+                GameController.this.enableGrid();
             }
+        };
+
+        this.assembler.start();
+    }
+
+    /**
+     * Stops the assembly, starts the background work it held back and marks the game as interactive.
+     */
+    private void assembled() {
+        this.assembler.stop();
+        this.assembler = null;
+
+        this.library.start();
+        this.io.execute(() -> this.openSolver(Solver.DEFAULT_PAIRS));
+
+        Startup.mark("interactive");
+
+        if (Startup.isTraining()) {
+            LOGGER.log(System.Logger.Level.INFO, Startup.getReport());
+            Platform.exit();
         }
     }
 
+    /**
+     * Render the grid based off of the current board.
+     * Views of the previous board get bound to the new cards, only the difference in size gets created or recycled.
+     */
+    private void renderCards() {
+        var board = this.game.getBoard();
+        var event = new RenderEvent("cards");
+        event.begin();
+
+        this.warmUpImages();
+
+        while (this.cardControllers.size() > board.size()) {
+            var controller = this.cardControllers.remove(this.cardControllers.size() - 1);
+
+            controller.release();
+            this.grid.getChildren().remove(controller.getDisplay());
+            this.nodeFactory.recycleCard(controller.getDisplay());
+        }
+
+        for (int i = 0; i < board.size(); i++) this.renderCard(i);
+
+        // A game that's loaded or restarted before the first assembly finished replaces it.
+        if (this.assembler != null) this.assembled();
+
+        this.enableGrid();
+
+        event.nodes = board.size();
+        event.commit();
+    }
+
+    /**
+     * Binds the view at the given index to its card, creating the view if the grid doesn't have one yet.
+     *
+     * @param i The index of the card.
+     */
+    private void renderCard(int i) {
+        var columns = this.game.getBoard().getColumns();
+
+        if (i == this.cardControllers.size()) this.cardControllers.add(new CardController(this.nodeFactory.createCard(), this.game, this, this.scheduler));
+
+        var controller = this.cardControllers.get(i);
+        var display = controller.getDisplay();
+
+        controller.bind(this.game.getCard(i));
+
+        var column = i % columns + 1;
+        var row = i / columns + 1;
+
+        if (display.getParent() == null) this.grid.add(display, column, row);
+        else GridPane.setConstraints(display, column, row);
+    }
+
+    /**
+     * Starts decoding the images the current board can show before its cards get rendered.
+     */
+    private void warmUpImages() {
+        var urls = this.game.getUrls();
+
+        Atlas.warmUp(List.of(Card.COVER), CardController.SIZE);
+        Atlas.warmUp(urls, CardController.SIZE);
+        Atlas.warmUp(urls, BadgeController.SIZE);
+    }
+
     /**
      * Renders the players.
      */
     private void renderPlayers() {
+        var event = new RenderEvent("players");
+        event.begin();
+
         if (this.wrapper.getChildren().size() == 4) {
             this.wrapper.getChildren().remove(2, 4);
+            this.playerOneController.recycle();
+            this.playerTwoController.recycle();
         }
 
-        this.renderPlayer(this.game.getplayerOne());
-        this.renderPlayer(this.game.getplayerTwo());
+        this.playerOneController = this.renderPlayer(this.game.getplayerOne());
+        this.playerTwoController = this.renderPlayer(this.game.getplayerTwo());
 
         this.playerOneController.highlight();
         this.playerTwoController.highlight();
+
+        event.nodes = 2 + this.game.getplayerOne().getBadgeCount() + this.game.getplayerTwo().getBadgeCount();
+        event.commit();
     }
 
     /**
      * Renders a player.
      * @param player The player to render.
      */
-    private void renderPlayer(Player player) {
+    private PlayerController renderPlayer(Player player) {
         var view = this.getClass().getResource("/views/components/player.fxml");
         var loader = new FXMLLoader(view);
-        PlayerController controller = new PlayerController(player, this.game);
-
-        if (this.playerOneController == null) this.playerOneController = controller;
-        else this.playerTwoController = controller;
+        PlayerController controller = new PlayerController(player, this.game, this.nodeFactory, this.scheduler);
 
         loader.setController(controller);
 
         try {
             this.wrapper.getChildren().add(loader.load());
         } catch (IOException ignored) { }
+
+        return controller;
     }
 
 
@@ -117,30 +378,175 @@ public class GameController implements Consumer<Game> {
 
         this.game.calculatePair();
 
-        this.playerOneController.highlight();
-        this.playerTwoController.highlight();
-
         this.enableGrid();
+    }
+
+    /**
+     * Turns a card for the computer player.
+     *
+     * @param index The index of the card.
+     */
+    void flipCard(int index) {
+        var controller = this.cardControllers.get(index);
 
-        this.checkForGameEnd();
+        if (this.game.getBoard().isRemoved(index) || controller.getDisplay().isDisabled()) return;
+
+        controller.flip();
+    }
+
+    /**
+     * Points out the card a player with perfect memory would turn next.
+     */
+    public void hint() {
+        if (this.gridIsDisabled()) return;
+
+        var pairs = this.game.getBoard().getPairs();
+        var solver = this.solver;
+
+        if (solver != null && solver.getPairs() >= pairs) {
+            this.showHint(solver);
+            return;
+        }
+
+        // Mapping or solving the table can take a while, the hint shows up once it's there.
+        this.io.execute(() -> {
+            var opened = this.openSolver(Math.max(Solver.DEFAULT_PAIRS, pairs));
+
+            Platform.runLater(() -> this.showHint(opened));
+        });
     }
 
     /**
-     * Checks for the game end.
-     * If so, shows the ending dialog.
+     * Highlights the suggested card, unless the grid was closed or got bigger than the table in the meantime.
      */
-    private void checkForGameEnd() {
-        if (!this.game.checkForGameEnd()) return;
+    private void showHint(Solver solver) {
+        if (this.gridIsDisabled() || solver.getPairs() < this.game.getBoard().getPairs()) return;
 
-        var playerOneBadges = this.game.getplayerOne().getBadges();
-        var playerTwoBadges = this.game.getplayerTwo().getBadges();
+        var index = this.hints.suggest(solver);
+
+        if (index != Knowledge.NONE) this.cardControllers.get(index).hint();
+    }
+
+    /**
+     * Opens the solver's table, solving it in memory if it can't be stored.
+     * Only runs on the io thread, so the table is never opened or solved twice at once and never on the FX thread.
+     *
+     * @param pairs The pairs the table should cover.
+     */
+    private Solver openSolver(int pairs) {
+        var solver = this.solver;
+
+        if (solver != null && solver.getPairs() >= pairs) return solver;
+
+        try {
+            solver = Solver.open(HOME.resolve("solver.table"), pairs);
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "The solver table couldn't be stored", e);
+            solver = Solver.compute(pairs, ForkJoinPool.commonPool());
+        }
+
+        this.solver = solver;
+        return solver;
+    }
+
+    /**
+     * Takes back the card of the current turn or the last turn.
+     * Against the computer it keeps going back until it's a person's turn.
+     */
+    public void undo() {
+        if (this.gridIsDisabled() || !this.history.canUndo()) return;
 
-        var winner = this.game.checkForWinner();
+        this.measure("Undo", () -> {
+            do {
+                this.history.undo();
+            } while (this.bot.isPlaying() && this.history.canUndo());
+
+            this.renderPlayers();
+            this.renderCards();
+        });
+    }
+
+    /**
+     * Plays the last undone turn again.
+     */
+    public void redo() {
+        if (this.gridIsDisabled() || !this.history.canRedo()) return;
+
+        this.measure("Redo", () -> {
+            this.history.redo();
+            this.renderPlayers();
+            this.renderCards();
+        });
+    }
+
+    /**
+     * Plays a turn that was undone before the last one, from where the game is now.
+     */
+    public void redoOtherBranch() {
+        if (this.gridIsDisabled() || this.history.getBranchCount() < 2) return;
+
+        this.history.nextBranch();
+        this.redo();
+    }
+
+    /**
+     * Remembers the current state to come back to with {@link #restoreSnapshot()}.
+     */
+    public void takeSnapshot() {
+        this.history.snapshot(SNAPSHOT);
+    }
+
+    /**
+     * Goes back to the snapshot, the turns played since then can still be redone.
+     */
+    public void restoreSnapshot() {
+        if (this.gridIsDisabled() || !this.history.hasSnapshot(SNAPSHOT)) return;
+
+        this.measure("Snapshot", () -> {
+            this.history.restore(SNAPSHOT);
+            this.renderPlayers();
+            this.renderCards();
+        });
+    }
+
+    /**
+     * Seats a person or a computer as the second player, the menu item's user data names the computer's memory.
+     *
+     * @param event The choice from the Players menu.
+     */
+    public void chooseOpponent(ActionEvent event) {
+        var choice = String.valueOf(((MenuItem) event.getSource()).getUserData());
+
+        switch (choice) {
+            case "forgetful":
+                this.bot.setStrategy(BotStrategy::forgetful);
+                break;
+            case "average":
+                this.bot.setStrategy(BotStrategy::average);
+                break;
+            case "perfect":
+                this.bot.setStrategy(BotStrategy::perfect);
+                break;
+            default:
+                this.bot.setStrategy(null);
+        }
+    }
+
+    /**
+     * Shows the ending dialog.
+     *
+     * @param event The end of the game.
+     */
+    private void showGameEnd(GameEnded event) {
+        var playerOneBadges = this.game.getplayerOne().getBadgeCount();
+        var playerTwoBadges = this.game.getplayerTwo().getBadgeCount();
+
+        var winner = event.getWinner();
 
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Game has ended.");
         alert.setHeaderText(String.format("%s has won the game!", winner));
-        alert.setContentText(String.format("Final score: %s-%s, want to play another game?", playerOneBadges.size(), playerTwoBadges.size()));
+        alert.setContentText(String.format("Final score: %s-%s, want to play another game?", playerOneBadges, playerTwoBadges));
 
         ButtonType yes = new ButtonType("Yes", ButtonBar.ButtonData.YES);
         ButtonType no = new ButtonType("No", ButtonBar.ButtonData.NO);
@@ -158,44 +564,58 @@ public class GameController implements Consumer<Game> {
     }
 
     /**
-     * Load a .mem file.
+     * Opens the save browser.
      */
     public void load() {
-        var fileChooser = new FileChooser();
-        var stage = this.grid.getScene().getWindow();
-
-        fileChooser.setInitialDirectory(new File(Paths.get(".").toAbsolutePath().normalize().toString() + "/src/main/resources/saves"));
-        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Memory Files", "*.mem"));
-
-        var save = fileChooser.showOpenDialog(stage);
+        // The library is only started once the grid is in, a load that comes earlier starts it itself.
+        this.library.start();
 
-        if (save == null) return;
+        if (this.browser == null) this.browser = new SaveBrowser(this.grid.getScene().getWindow(), this.library, this::load);
 
-        try {
-            var data = this.game.readSaveFileGrid(save);
-            this.game.setplayerOne(this.game.readSaveFilePlayer(save, 1));
-            this.game.setplayerTwo(this.game.readSaveFilePlayer(save, 2));
-            this.game.readSaveFileCurrentPlayer(save);
+        this.browser.show();
+    }
 
-            if (data.size() != 36) return;
+    /**
+     * Loads a .mem or .memb file.
+     *
+     * @param save The save file.
+     */
+    private void load(Path save) {
+        var task = new LoadTask(save);
 
-            this.renderCards(data);
-            this.renderPlayers();
+        task.setOnSucceeded(e -> {
+            var data = task.getValue();
 
-        } catch (Exception e) {
-            this.game.generatePlayers();
-            this.renderPlayers();
+            this.measure("Load", () -> {
+                this.game.load(data);
+                this.renderCards();
+                this.renderPlayers();
+            });
+        });
+        task.setOnFailed(e -> this.showLoadError(task.getException()));
 
-            var cards = this.game.generateCards();
-            this.renderCards(cards);
+        this.runInBackground("Loading", task);
+    }
 
-            Alert alert = new Alert(Alert.AlertType.ERROR);
-            alert.setTitle("Invalid Save File");
-            alert.setHeaderText("Invalid Save File");
-            alert.setContentText("Your save might have been corrupted, please use another save file.");
-            alert.showAndWait();
+    /**
+     * Starts a new game and explains why the save couldn't be loaded.
+     *
+     * @param e What went wrong.
+     */
+    private void showLoadError(Throwable e) {
+        if (!(e instanceof IOException || e instanceof SaveFileException)) {
+            LOGGER.log(System.Logger.Level.ERROR, "Loading failed", e);
         }
 
+        this.game.start();
+        this.renderPlayers();
+        this.renderCards();
+
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Invalid Save File");
+        alert.setHeaderText("Invalid Save File");
+        alert.setContentText(String.format("Your save might have been corrupted, please use another save file.%n%n%s", e.getMessage()));
+        alert.show();
     }
 
     /**
@@ -205,14 +625,128 @@ public class GameController implements Consumer<Game> {
         var fileChooser = new FileChooser();
         var stage = this.grid.getScene().getWindow();
 
-        fileChooser.setInitialDirectory(new File(Paths.get(".").toAbsolutePath().normalize().toString() + "/src/main/resources/saves"));
+        fileChooser.setInitialDirectory(SAVES.toFile());
         fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Memory Files", "*.mem"));
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Binary Memory Files", "*" + BinarySaveFile.EXTENSION));
 
         var file = fileChooser.showSaveDialog(stage);
 
         if (file == null) return;
 
-        this.game.writeSaveFile(file);
+        var task = new SaveTask(SaveFile.of(this.game), Game.getSavePath(file));
+
+        task.setOnFailed(e -> {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Saving failed");
+            alert.setHeaderText("Saving failed");
+            alert.setContentText(String.format("The game wasn't saved, any previous save is unchanged.%n%n%s", task.getException().getMessage()));
+            alert.show();
+        });
+
+        this.runInBackground("Saving", task);
+    }
+
+    /**
+     * Runs a file task on the io thread while the grid is disabled.
+     * A progress dialog with a cancel button shows up if the task takes longer than a moment.
+     *
+     * @param title The title of the progress dialog.
+     * @param task  The task.
+     */
+    private void runInBackground(String title, Task<?> task) {
+        var progress = new ProgressBar();
+        progress.progressProperty().bind(task.progressProperty());
+        progress.setPrefWidth(300);
+
+        var dialog = new Alert(Alert.AlertType.NONE);
+        dialog.setTitle(title);
+        dialog.headerTextProperty().bind(task.messageProperty());
+        dialog.getDialogPane().setContent(progress);
+        dialog.getButtonTypes().setAll(ButtonType.CANCEL);
+        dialog.setOnCloseRequest(e -> {
+            if (task.isRunning()) task.cancel();
+        });
+
+        task.runningProperty().addListener((observable, wasRunning, running) -> {
+            if (running) return;
+
+            this.scheduler.release(dialog);
+            dialog.close();
+            this.enableGrid();
+        });
+
+        this.disableGrid();
+        this.scheduler.schedule(dialog, PROGRESS_DELAY, dialog::show);
+        this.io.execute(task);
+    }
+
+    /**
+     * Starts a flight recording, or stops the running one and writes it to ~/.memory/recordings.
+     */
+    public void toggleRecording() {
+        try {
+            if (!Recordings.isRecording()) {
+                Recordings.start();
+                this.recording.setText("Stop Recording");
+                return;
+            }
+
+            var name = String.format("memory-%s.jfr", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+            var file = HOME.resolve("recordings").resolve(name);
+
+            Recordings.stop(file);
+            this.recording.setText("Start Recording");
+
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Recording saved");
+            alert.setHeaderText("Recording saved");
+            alert.setContentText(String.format("The recording was written to %s", file));
+            alert.show();
+        } catch (IOException e) {
+            this.recording.setText("Start Recording");
+
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Recording failed");
+            alert.setHeaderText("Recording failed");
+            alert.setContentText(e.getMessage());
+            alert.show();
+        }
+    }
+
+    /**
+     * Shows or hides the performance overlay.
+     */
+    public void togglePerformanceHud() {
+        this.performanceHud.setVisible(this.hudToggle.isSelected());
+    }
+
+    /**
+     * Writes the performance numbers to ~/.memory/performance, to compare them with other runs.
+     */
+    public void dumpPerformance() {
+        var name = String.format("performance-%s.properties", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        var file = HOME.resolve("performance").resolve(name);
+        Alert alert;
+
+        try {
+            this.performanceHud.dump(file);
+
+            alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Performance stats saved");
+            alert.setHeaderText("Performance stats saved");
+            alert.setContentText(String.format("The numbers were written to %s", file));
+        } catch (IOException e) {
+            alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Saving performance stats failed");
+            alert.setHeaderText("Saving performance stats failed");
+            alert.setContentText(e.getMessage());
+        }
+
+        alert.show();
+    }
+
+    PerformanceHud getPerformanceHud() {
+        return this.performanceHud;
     }
 
     /**
@@ -227,11 +761,41 @@ public class GameController implements Consumer<Game> {
      * Restarts the game.
      */
     public void restart() {
-        this.game.generatePlayers();
-        this.renderPlayers();
+        this.measure("Restart", () -> {
+            this.game.start();
+            this.renderPlayers();
+            this.renderCards();
+        });
+    }
 
-        var cards = this.game.generateCards();
-        this.renderCards(cards);
+    /**
+     * Runs the given action and logs the time until the scene has laid out its result.
+     *
+     * @param name   The name to log the time under.
+     * @param action The action to measure.
+     */
+    private void measure(String name, Runnable action) {
+        var start = System.nanoTime();
+        var scene = this.grid.getScene();
+
+        action.run();
+
+        if (scene == null) return;
+
+        scene.addPostLayoutPulseListener(new Runnable() {
+            private boolean logged = false;
+
+            @Override
+            public void run() {
+                if (this.logged) return;
+                this.logged = true;
+
+                LOGGER.log(System.Logger.Level.INFO, "{0} to interactive took {1} ms", name, (System.nanoTime() - start) / 1_000_000.0);
+
+                // Listeners can't be removed while the scene is calling them.
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+            }
+        });
     }
 
     /**
@@ -248,16 +812,10 @@ public class GameController implements Consumer<Game> {
         this.disabled.set(false);
     }
 
+    /**
+     * @return true if people can't turn cards, because the grid is busy or it's the computer's turn.
+     */
     public boolean gridIsDisabled() {
-        return this.disabled.getValue();
-    }
-
-    @Override
-    public void accept(Game game) {
-        if (game == null) return;
-
-        this.game = game;
-
-        if (this.game.getSelectedCards().size() == 2) this.checkForPair();
+        return this.disabled.getValue() || this.bot.isPlaying();
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package memory.controller;
+
+import javafx.concurrent.Task;
+import memory.model.SaveFile;
+
+import java.nio.file.Path;
+
+/**
+ * Reads and parses a save off the FX thread.
+ * The result is applied to the game by whoever handles the task succeeding, in one step on the FX thread.
+ */
+public class LoadTask extends Task<SaveFile> {
+    private final Path path;
+
+    public LoadTask(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    protected SaveFile call() throws Exception {
+        this.updateMessage(String.format("Reading %s", this.path.getFileName()));
+        this.updateProgress(0, 1);
+
+        var save = SaveFile.read(this.path);
+
+        // A cancelled load is dropped here, the game never sees it.
+        if (this.isCancelled()) return null;
+
+        this.updateProgress(1, 1);
+
+        return save;
+    }
+}
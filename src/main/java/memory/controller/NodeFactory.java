@@ -0,0 +1,74 @@
+package memory.controller;
+
+import javafx.scene.image.ImageView;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Builds card and badge nodes in code and keeps recycled ones around for the next game.
+ */
+public class NodeFactory {
+    private final Deque<ImageView> cards = new ArrayDeque<>();
+    private final Deque<ImageView> badges = new ArrayDeque<>();
+
+    /**
+     * Returns a card view, reusing a recycled one if there is any.
+     */
+    public ImageView createCard() {
+        var view = this.cards.poll();
+
+        return (view != null) ? view : create(CardController.SIZE);
+    }
+
+    /**
+     * Returns a badge view, reusing a recycled one if there is any.
+     */
+    public ImageView createBadge() {
+        var view = this.badges.poll();
+
+        return (view != null) ? view : create(BadgeController.SIZE);
+    }
+
+    /**
+     * Hands a card view that's no longer in the scene back to the pool.
+     *
+     * @param view The card view.
+     */
+    public void recycleCard(ImageView view) {
+        this.cards.push(reset(view));
+    }
+
+    /**
+     * Hands a badge view that's no longer in the scene back to the pool.
+     *
+     * @param view The badge view.
+     */
+    public void recycleBadge(ImageView view) {
+        this.badges.push(reset(view));
+    }
+
+    private static ImageView create(int size) {
+        var view = new ImageView();
+        view.setFitWidth(size);
+        view.setFitHeight(size);
+
+        return view;
+    }
+
+    /**
+     * Clears everything a controller might have left on the view.
+     *
+     * @param view The view to reset.
+     */
+    static ImageView reset(ImageView view) {
+        view.setImage(null);
+        view.setViewport(null);
+        view.setOnMouseClicked(null);
+        view.setDisable(false);
+        view.setOpacity(1);
+        view.setRotate(0);
+
+        return view;
+    }
+}
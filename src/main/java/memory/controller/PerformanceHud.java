@@ -0,0 +1,151 @@
+package memory.controller;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import memory.util.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Overlay showing frame times, the node count, heap use and the latency from clicking a card to seeing its face.
+ * Flips are always recorded, frames only while the overlay is shown.
+ * The histograms have a fixed size, the overlay only allocates the text it shows twice a second.
+ */
+public class PerformanceHud {
+    private static final long REFRESH = 500_000_000L;
+
+    private final Label label;
+    private final Histogram frames = new Histogram();
+    private final Histogram flips = new Histogram();
+    private final StringBuilder text = new StringBuilder(256);
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            PerformanceHud.this.onPulse(now);
+        }
+    };
+
+    private long lastFrame = 0;
+    private long lastRefresh = 0;
+
+    public PerformanceHud(Label label) {
+        this.label = label;
+        this.label.setVisible(false);
+        this.label.setMouseTransparent(true);
+    }
+
+    /**
+     * Shows or hides the overlay.
+     *
+     * @param visible true to show it.
+     */
+    public void setVisible(boolean visible) {
+        this.label.setVisible(visible);
+        this.lastFrame = 0;
+        this.lastRefresh = 0;
+
+        if (visible) this.timer.start();
+        else this.timer.stop();
+    }
+
+    public boolean isVisible() {
+        return this.label.isVisible();
+    }
+
+    /**
+     * Records the time between clicking a card and its face being fully turned.
+     *
+     * @param nanos The latency.
+     */
+    public void recordFlip(long nanos) {
+        this.flips.record(nanos);
+    }
+
+    /**
+     * Writes every number the overlay knows about as name=value lines, to compare runs with.
+     *
+     * @param file The file to write.
+     */
+    public void dump(Path file) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+
+        try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(String.format("# Memory performance, %s%n", LocalDateTime.now()));
+            writer.write(String.format("heap.used.mb=%.1f%n", usedHeap() / 1e6));
+            writer.write(String.format("nodes=%s%n", this.countNodes()));
+            this.frames.write("frame.ms", 1e6, writer);
+            this.flips.write("flip.ms", 1e6, writer);
+        }
+    }
+
+    private void onPulse(long now) {
+        if (this.lastFrame != 0) this.frames.record(now - this.lastFrame);
+        this.lastFrame = now;
+
+        if (now - this.lastRefresh < REFRESH) return;
+        this.lastRefresh = now;
+
+        this.refresh();
+    }
+
+    /**
+     * Rebuilds the overlay text in a reused builder.
+     */
+    private void refresh() {
+        var text = this.text;
+        text.setLength(0);
+
+        text.append("frame  ");
+        this.appendPercentiles(this.frames);
+        text.append("\nflip   ");
+        this.appendPercentiles(this.flips);
+        text.append("\nnodes  ").append(this.countNodes());
+        text.append("\nheap   ").append(usedHeap() >> 20).append(" MB");
+
+        this.label.setText(text.toString());
+    }
+
+    private void appendPercentiles(Histogram histogram) {
+        this.text.append("p50 ");
+        this.appendMillis(histogram.getPercentile(50));
+        this.text.append("  p99 ");
+        this.appendMillis(histogram.getPercentile(99));
+        this.text.append("  max ");
+        this.appendMillis(histogram.getMax());
+        this.text.append(" ms  (").append(histogram.getCount()).append(')');
+    }
+
+    private void appendMillis(long nanos) {
+        this.text.append(nanos / 1_000_000).append('.').append(nanos / 100_000 % 10);
+    }
+
+    private int countNodes() {
+        var scene = this.label.getScene();
+
+        return (scene == null) ? 0 : countNodes(scene.getRoot());
+    }
+
+    private static int countNodes(Node node) {
+        var count = 1;
+
+        if (node instanceof Parent) {
+            var children = ((Parent) node).getChildrenUnmodifiable();
+
+            for (int i = 0; i < children.size(); i++) count += countNodes(children.get(i));
+        }
+
+        return count;
+    }
+
+    private static long usedHeap() {
+        var runtime = Runtime.getRuntime();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -1,18 +1,23 @@
 package memory.controller;
 
-import javafx.concurrent.Task;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.control.TextField;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.util.Duration;
 import memory.model.Badge;
 import memory.model.Game;
 import memory.model.Player;
 
-import java.io.IOException;
-import java.util.function.Consumer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PlayerController {
+    /**
+     * Waits for the cards of the last turn to turn back before the next player is highlighted.
+     */
+    private static final Duration HIGHLIGHT_DELAY = CardController.REVEAL;
 
-public class PlayerController implements Consumer<Player> {
     @FXML
     private HBox container;
 
@@ -21,12 +26,15 @@ public class PlayerController implements Consumer<Player> {
 
     private Player player;
     private Game game;
+    private NodeFactory nodeFactory;
+    private TransitionScheduler scheduler;
+    private final List<BadgeController> badgeControllers = new ArrayList<>();
 
-    public PlayerController(Player player, Game game) {
+    public PlayerController(Player player, Game game, NodeFactory nodeFactory, TransitionScheduler scheduler) {
         this.player = player;
         this.game = game;
-
-        this.player.observe(this);
+        this.nodeFactory = nodeFactory;
+        this.scheduler = scheduler;
     }
 
     @FXML
@@ -37,14 +45,16 @@ public class PlayerController implements Consumer<Player> {
     }
 
     /**
-     * Adds a badge to the list when a new one gets added.
+     * Adds a badge the player was just awarded to the list.
+     *
+     * @param badge The new badge.
      */
-    private void addBadge() {
-        if (this.container == null) return;
-        var badges = this.player.getBadges();
-        var children = this.container.getChildren();
+    public void addBadge(Badge badge) {
+        if (this.container != null) this.renderBadge(badge);
+    }
 
-        if (children.size() < badges.size() + 1) this.renderBadge(badges.get(badges.size() - 1));
+    public Player getPlayer() {
+        return this.player;
     }
 
     /**
@@ -62,49 +72,44 @@ public class PlayerController implements Consumer<Player> {
      * @param badge The badge to render.
      */
     private void renderBadge(Badge badge) {
-        var view = this.getClass().getResource("/views/components/badge.fxml");
-        var loader = new FXMLLoader(view);
+        var controller = new BadgeController(badge, this.nodeFactory.createBadge(), this.scheduler);
 
-        loader.setController(new BadgeController(badge));
+        this.badgeControllers.add(controller);
+        this.container.getChildren().add(controller.getDisplay());
+    }
 
-        try {
-            this.container.getChildren().add(loader.load());
-        } catch (IOException ignored) {
-        }
+    /**
+     * Hands the badge views back to the node factory once the player is no longer shown.
+     */
+    public void recycle() {
+        this.scheduler.release(this);
+
+        this.badgeControllers.forEach(BadgeController::release);
+        this.badgeControllers.clear();
+
+        var children = this.container.getChildren();
+
+        for (var child : children.subList(1, children.size())) this.nodeFactory.recycleBadge((ImageView) child);
+
+        children.remove(1, children.size());
     }
 
     /**
-     * Highlights or un-highlights the player field depending on the currentPlayer.
+     * Highlights or un-highlights the player field depending on the currentPlayer, once the last turn has settled.
+     * A highlight that's still waiting gets replaced, so only the latest turn is shown.
      */
     public void highlight() {
-        final Task<Void> task = new Task<>() {
-            @Override
-            protected Void call() throws InterruptedException {
-                Thread.sleep(1000);
-                return null;
-            }
-        };
-
-        task.setOnSucceeded(event -> {
-            if (this.player == this.game.getCurrentPlayer()) {
-                this.name.requestFocus();
-                if (!this.name.getStyleClass().contains("current")) this.name.getStyleClass().add("current");
-                this.name.setFocusTraversable(true);
-            } else {
-                this.name.getStyleClass().remove("current");
-                this.name.setFocusTraversable(false);
-            }
-        });
-
-        new Thread(task).start();
+        this.scheduler.schedule(this, HIGHLIGHT_DELAY, this::applyHighlight);
     }
 
-    @Override
-    public void accept(Player player) {
-        if (player == null) return;
-
-        this.player = player;
-
-        this.addBadge();
+    private void applyHighlight() {
+        if (this.player == this.game.getCurrentPlayer()) {
+            this.name.requestFocus();
+            if (!this.name.getStyleClass().contains("current")) this.name.getStyleClass().add("current");
+            this.name.setFocusTraversable(true);
+        } else {
+            this.name.getStyleClass().remove("current");
+            this.name.setFocusTraversable(false);
+        }
     }
 }
@@ -0,0 +1,207 @@
+package memory.controller;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.FileChooser;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import memory.library.SaveEntry;
+import memory.library.SaveLibrary;
+import memory.model.BinarySaveFile;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Lists the saves of a {@link SaveLibrary} with their players, scores and a thumbnail of the board.
+ * The list follows the library while it's open, broken saves are shown with the reason instead of being openable.
+ */
+public class SaveBrowser {
+    private static final int THUMBNAIL = 48;
+
+    private final SaveLibrary library;
+    private final Consumer<Path> open;
+    private final Stage stage = new Stage();
+    private final ListView<SaveEntry> list = new ListView<>();
+    private final Button openButton = new Button("Open");
+    private boolean refreshing = false;
+
+    /**
+     * @param owner   The window the browser belongs to.
+     * @param library The saves to show.
+     * @param open    Called with the save the player picked.
+     */
+    public SaveBrowser(Window owner, SaveLibrary library, Consumer<Path> open) {
+        this.library = library;
+        this.open = open;
+
+        this.list.setCellFactory(view -> new EntryCell());
+        this.list.setPlaceholder(new Label("Looking for saves..."));
+        this.list.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2) this.openSelected();
+        });
+
+        this.openButton.setDefaultButton(true);
+        this.openButton.disableProperty().bind(this.list.getSelectionModel().selectedItemProperty().isNull());
+        this.openButton.setOnAction(e -> this.openSelected());
+
+        var browse = new Button("Browse...");
+        browse.setOnAction(e -> this.browse());
+
+        var cancel = new Button("Cancel");
+        cancel.setCancelButton(true);
+        cancel.setOnAction(e -> this.stage.hide());
+
+        var spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        var buttons = new HBox(10, browse, spacer, cancel, this.openButton);
+        buttons.setPadding(new Insets(10));
+
+        var root = new BorderPane(this.list);
+        root.setBottom(buttons);
+
+        this.stage.setTitle("Load");
+        this.stage.initOwner(owner);
+        this.stage.initModality(Modality.WINDOW_MODAL);
+        this.stage.setScene(new Scene(root, 520, 600));
+
+        this.library.observe(changed -> this.scheduleRefresh());
+    }
+
+    public void show() {
+        this.refresh();
+        this.stage.show();
+        this.stage.toFront();
+    }
+
+    /**
+     * Refreshes the list on the FX thread, library changes that come in before it runs are taken along.
+     */
+    private void scheduleRefresh() {
+        synchronized (this) {
+            if (this.refreshing) return;
+            this.refreshing = true;
+        }
+
+        Platform.runLater(() -> {
+            synchronized (this) {
+                this.refreshing = false;
+            }
+
+            this.refresh();
+        });
+    }
+
+    private void refresh() {
+        var selected = this.list.getSelectionModel().getSelectedItem();
+
+        this.list.getItems().setAll(this.library.getEntries());
+
+        if (selected == null) return;
+
+        for (var entry : this.list.getItems()) {
+            if (entry.getPath().equals(selected.getPath())) this.list.getSelectionModel().select(entry);
+        }
+    }
+
+    private void openSelected() {
+        var entry = this.list.getSelectionModel().getSelectedItem();
+
+        if (entry == null || !entry.isValid()) return;
+
+        this.stage.hide();
+        this.open.accept(entry.getPath());
+    }
+
+    /**
+     * Falls back to a file chooser for saves outside the library.
+     */
+    private void browse() {
+        var fileChooser = new FileChooser();
+
+        fileChooser.setInitialDirectory(this.library.getRoot().toFile());
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Memory Files", "*.mem", "*" + BinarySaveFile.EXTENSION));
+
+        var file = fileChooser.showOpenDialog(this.stage);
+
+        if (file == null) return;
+
+        this.stage.hide();
+        this.open.accept(file.toPath());
+    }
+
+    /**
+     * Draws one pixel per cell, dark while the cell still has a card.
+     */
+    private static WritableImage thumbnail(SaveEntry entry) {
+        var image = new WritableImage(entry.getColumns(), entry.getRows());
+        var writer = image.getPixelWriter();
+
+        for (int i = 0; i < entry.getRows() * entry.getColumns(); i++) {
+            writer.setColor(i % entry.getColumns(), i / entry.getColumns(), entry.hasCard(i) ? Color.DARKSLATEBLUE : Color.GAINSBORO);
+        }
+
+        return image;
+    }
+
+    private static class EntryCell extends ListCell<SaveEntry> {
+        private final ImageView thumbnail = new ImageView();
+        private final Label title = new Label();
+        private final Label details = new Label();
+        private final HBox graphic;
+
+        private EntryCell() {
+            this.thumbnail.setFitWidth(THUMBNAIL);
+            this.thumbnail.setFitHeight(THUMBNAIL);
+            this.thumbnail.setPreserveRatio(true);
+            this.thumbnail.setSmooth(false);
+
+            this.title.setStyle("-fx-font-weight: bold;");
+
+            this.graphic = new HBox(10, this.thumbnail, new VBox(4, this.title, this.details));
+            this.graphic.setAlignment(Pos.CENTER_LEFT);
+        }
+
+        @Override
+        protected void updateItem(SaveEntry entry, boolean empty) {
+            super.updateItem(entry, empty);
+
+            if (empty || entry == null) {
+                this.setGraphic(null);
+                return;
+            }
+
+            this.title.setText(entry.getPath().getFileName().toString());
+
+            if (entry.isValid()) {
+                this.thumbnail.setImage(thumbnail(entry));
+                this.details.setText(String.format("%s %s - %s %s, %s pairs left on a %sx%s board",
+                        entry.getName(0), entry.getScore(0), entry.getScore(1), entry.getName(1),
+                        entry.getRemaining(), entry.getRows(), entry.getColumns()));
+                this.details.setTextFill(Color.BLACK);
+            } else {
+                this.thumbnail.setImage(null);
+                this.details.setText(entry.getError());
+                this.details.setTextFill(Color.FIREBRICK);
+            }
+
+            this.setGraphic(this.graphic);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package memory.controller;
+
+import javafx.concurrent.Task;
+import memory.model.SaveFile;
+
+import java.nio.file.Path;
+
+/**
+ * Writes a save off the FX thread.
+ * The state is captured on the FX thread beforehand, so the game can go on while it's written.
+ */
+public class SaveTask extends Task<Path> {
+    private final SaveFile save;
+    private final Path path;
+
+    public SaveTask(SaveFile save, Path path) {
+        this.save = save;
+        this.path = path;
+    }
+
+    @Override
+    protected Path call() throws Exception {
+        this.updateMessage(String.format("Writing %s", this.path.getFileName()));
+        this.updateProgress(0, 1);
+
+        // Once writing starts it runs to the end, the file is replaced atomically either way.
+        if (this.isCancelled()) return null;
+
+        this.save.write(this.path);
+        this.updateProgress(1, 1);
+
+        return this.path;
+    }
+}
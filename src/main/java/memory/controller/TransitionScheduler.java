@@ -0,0 +1,67 @@
+package memory.controller;
+
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs delayed UI actions on the FX thread, driven by the animation pulse instead of sleeping threads.
+ * Every action belongs to a key, scheduling again for the same key replaces the action that was still waiting.
+ */
+public class TransitionScheduler {
+    private final Map<Object, PauseTransition> timers = new HashMap<>();
+
+    /**
+     * Runs the action after the delay, unless it gets cancelled or replaced first.
+     *
+     * @param key    The owner of the action, for example the controller it animates.
+     * @param delay  How long to wait.
+     * @param action The action to run.
+     */
+    public void schedule(Object key, Duration delay, Runnable action) {
+        var timer = this.timers.computeIfAbsent(key, k -> new PauseTransition());
+
+        timer.stop();
+        timer.setDuration(delay);
+        timer.setOnFinished(e -> action.run());
+        timer.playFromStart();
+    }
+
+    /**
+     * Drops the action that's waiting for the given key, if there is one.
+     *
+     * @param key The owner of the action.
+     */
+    public void cancel(Object key) {
+        var timer = this.timers.get(key);
+
+        if (timer != null) timer.stop();
+    }
+
+    /**
+     * Cancels the action of the given key and forgets about the key, for owners that are going away.
+     *
+     * @param key The owner of the action.
+     */
+    public void release(Object key) {
+        var timer = this.timers.remove(key);
+
+        if (timer != null) timer.stop();
+    }
+
+    /**
+     * @return The amount of actions that are still waiting.
+     */
+    public int getPending() {
+        var pending = 0;
+
+        for (var timer : this.timers.values()) {
+            if (timer.getStatus() == Animation.Status.RUNNING) pending++;
+        }
+
+        return pending;
+    }
+}
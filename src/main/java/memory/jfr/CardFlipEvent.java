@@ -0,0 +1,30 @@
+package memory.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The animation of a card turning over, from the click or hide delay until the card lies still.
+ */
+@Name("memory.CardFlip")
+@Label("Card Flip")
+@Category({"Memory", "UI"})
+@Description("A card turning face up or face down")
+public class CardFlipEvent extends jdk.jfr.Event {
+    @Label("Index")
+    public int index;
+
+    @Label("Pair Id")
+    public int id;
+
+    @Label("Face Up")
+    public boolean faceUp;
+
+    public CardFlipEvent(int index, int id, boolean faceUp) {
+        this.index = index;
+        this.id = id;
+        this.faceUp = faceUp;
+    }
+}
@@ -0,0 +1,31 @@
+package memory.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One notification of an observable's observers.
+ */
+@Name("memory.ObserverDispatch")
+@Label("Observer Dispatch")
+@Category({"Memory", "Model"})
+@Description("Notifying the observers of a model object")
+public class ObserverDispatchEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(ObserverDispatchEvent.class);
+
+    @Label("Observable")
+    public Class<?> observable;
+
+    @Label("Observers")
+    public int observers;
+
+    /**
+     * Checked before creating the event, so updates don't allocate while nobody is recording.
+     */
+    public static boolean isRecorded() {
+        return TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,34 @@
+package memory.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One call of Game.calculatePair, including the observers and event handlers it notified.
+ */
+@Name("memory.PairResolution")
+@Label("Pair Resolution")
+@Category({"Memory", "Model"})
+@Description("Resolving the two selected cards and passing the turn")
+public class PairResolutionEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(PairResolutionEvent.class);
+
+    @Label("First")
+    public int first;
+
+    @Label("Second")
+    public int second;
+
+    @Label("Pair")
+    public boolean pair;
+
+    /**
+     * Checked before creating the event, so turns don't allocate while nobody is recording.
+     */
+    public static boolean isRecorded() {
+        return TYPE.isEnabled();
+    }
+}
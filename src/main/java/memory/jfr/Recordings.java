@@ -0,0 +1,66 @@
+package memory.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Starts and dumps flight recordings with the bundled memory.jfc settings.
+ * Only one recording runs at a time.
+ */
+public class Recordings {
+    public static final String SETTINGS = "/jfr/memory.jfc";
+
+    private static Recording recording;
+
+    /**
+     * Starts recording, unless a recording is already running.
+     */
+    public static synchronized void start() throws IOException {
+        if (recording != null) return;
+
+        try (var reader = new InputStreamReader(Recordings.class.getResourceAsStream(SETTINGS), StandardCharsets.UTF_8)) {
+            recording = new Recording(Configuration.create(reader));
+        } catch (ParseException e) {
+            throw new IOException("The bundled recording settings are invalid.", e);
+        }
+
+        recording.setName("Memory");
+        recording.setToDisk(true);
+        recording.start();
+    }
+
+    /**
+     * Stops the running recording and writes it to the given file.
+     *
+     * @param destination The .jfr file.
+     * @return false if nothing was being recorded.
+     */
+    public static synchronized boolean stop(Path destination) throws IOException {
+        if (recording == null) return false;
+
+        var current = recording;
+        recording = null;
+
+        try {
+            current.stop();
+
+            if (destination.getParent() != null) Files.createDirectories(destination.getParent());
+            current.dump(destination);
+        } finally {
+            current.close();
+        }
+
+        return true;
+    }
+
+    public static synchronized boolean isRecording() {
+        return recording != null;
+    }
+}
@@ -0,0 +1,26 @@
+package memory.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Building or rebinding part of the scene graph for a new game.
+ */
+@Name("memory.Render")
+@Label("Render")
+@Category({"Memory", "UI"})
+@Description("Rendering the grid or the players")
+public class RenderEvent extends jdk.jfr.Event {
+    @Label("Target")
+    public String target;
+
+    @Label("Nodes")
+    @Description("The amount of nodes that were rendered")
+    public int nodes;
+
+    public RenderEvent(String target) {
+        this.target = target;
+    }
+}
@@ -0,0 +1,34 @@
+package memory.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Reading or writing a save file.
+ */
+@Name("memory.SaveFile")
+@Label("Save File")
+@Category({"Memory", "Persistence"})
+@Description("Reading or writing a text or binary save")
+public class SaveFileEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Size")
+    @DataAmount
+    public long size;
+
+    @Label("Binary")
+    public boolean binary;
+
+    public SaveFileEvent(String operation, String path) {
+        this.operation = operation;
+        this.path = path;
+    }
+}
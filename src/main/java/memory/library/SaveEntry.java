@@ -0,0 +1,187 @@
+package memory.library;
+
+import memory.model.Board;
+import memory.model.SaveFile;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.BitSet;
+
+/**
+ * What the save browser shows about one save, without having to read the save again.
+ * A thumbnail holds one bit per cell, set while the cell still has a card.
+ */
+public class SaveEntry {
+    private final Path path;
+    private final long size;
+    private final long modified;
+    private final String error;
+    private final int rows;
+    private final int columns;
+    private final String[] names;
+    private final int[] scores;
+    private final int currentPlayer;
+    private final int remaining;
+    private final BitSet thumbnail;
+
+    private SaveEntry(Path path, long size, long modified, String error, int rows, int columns, String[] names, int[] scores, int currentPlayer, int remaining, BitSet thumbnail) {
+        this.path = path;
+        this.size = size;
+        this.modified = modified;
+        this.error = error;
+        this.rows = rows;
+        this.columns = columns;
+        this.names = names;
+        this.scores = scores;
+        this.currentPlayer = currentPlayer;
+        this.remaining = remaining;
+        this.thumbnail = thumbnail;
+    }
+
+    /**
+     * Summarizes a save that could be read.
+     *
+     * @param path     The file.
+     * @param size     The size of the file.
+     * @param modified The last modified time of the file, in milliseconds.
+     * @param save     The contents of the file.
+     */
+    public static SaveEntry of(Path path, long size, long modified, SaveFile save) {
+        var grid = save.getGrid();
+        var thumbnail = new BitSet(grid.length);
+        var cards = 0;
+
+        for (int i = 0; i < grid.length; i++) {
+            if (grid[i] == Board.REMOVED) continue;
+
+            thumbnail.set(i);
+            cards++;
+        }
+
+        var names = new String[]{save.getName(0), save.getName(1)};
+        var scores = new int[]{save.getBadges(0).length, save.getBadges(1).length};
+
+        return new SaveEntry(path, size, modified, null, save.getRows(), save.getColumns(), names, scores, save.getCurrentPlayer(), cards / 2, thumbnail);
+    }
+
+    /**
+     * Remembers a save that couldn't be read, so it isn't read again until it changes.
+     *
+     * @param error Why the save couldn't be read.
+     */
+    public static SaveEntry invalid(Path path, long size, long modified, String error) {
+        return new SaveEntry(path, size, modified, error, 0, 0, new String[]{"", ""}, new int[2], 0, 0, new BitSet());
+    }
+
+    /**
+     * @return true if the file changed since this entry was made.
+     */
+    public boolean isStale(long size, long modified) {
+        return this.size != size || this.modified != modified;
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    public long getSize() {
+        return this.size;
+    }
+
+    public long getModified() {
+        return this.modified;
+    }
+
+    public boolean isValid() {
+        return this.error == null;
+    }
+
+    public String getError() {
+        return this.error;
+    }
+
+    public int getRows() {
+        return this.rows;
+    }
+
+    public int getColumns() {
+        return this.columns;
+    }
+
+    public String getName(int player) {
+        return this.names[player];
+    }
+
+    public int getScore(int player) {
+        return this.scores[player];
+    }
+
+    public int getCurrentPlayer() {
+        return this.currentPlayer;
+    }
+
+    /**
+     * @return The amount of pairs that are still on the board.
+     */
+    public int getRemaining() {
+        return this.remaining;
+    }
+
+    /**
+     * @return true if the cell still has a card.
+     */
+    public boolean hasCard(int index) {
+        return this.thumbnail.get(index);
+    }
+
+    /**
+     * Writes the entry without its path, the index stores paths itself.
+     */
+    void write(DataOutput out) throws IOException {
+        out.writeLong(this.size);
+        out.writeLong(this.modified);
+        out.writeBoolean(this.error != null);
+
+        if (this.error != null) {
+            out.writeUTF(this.error);
+            return;
+        }
+
+        out.writeInt(this.rows);
+        out.writeInt(this.columns);
+        out.writeUTF(this.names[0]);
+        out.writeUTF(this.names[1]);
+        out.writeInt(this.scores[0]);
+        out.writeInt(this.scores[1]);
+        out.writeByte(this.currentPlayer);
+        out.writeInt(this.remaining);
+
+        var thumbnail = this.thumbnail.toByteArray();
+        out.writeInt(thumbnail.length);
+        out.write(thumbnail);
+    }
+
+    static SaveEntry read(Path path, DataInput in) throws IOException {
+        var size = in.readLong();
+        var modified = in.readLong();
+
+        if (in.readBoolean()) return invalid(path, size, modified, in.readUTF());
+
+        var rows = in.readInt();
+        var columns = in.readInt();
+        var names = new String[]{in.readUTF(), in.readUTF()};
+        var scores = new int[]{in.readInt(), in.readInt()};
+        var currentPlayer = in.readByte();
+        var remaining = in.readInt();
+        var length = in.readInt();
+
+        if (rows < 0 || columns < 0 || length < 0 || length > (long) rows * columns / 8 + 1) throw new IOException("Corrupted index entry.");
+
+        var thumbnail = new byte[length];
+        in.readFully(thumbnail);
+
+        return new SaveEntry(path, size, modified, null, rows, columns, names, scores, currentPlayer, remaining, BitSet.valueOf(thumbnail));
+    }
+}
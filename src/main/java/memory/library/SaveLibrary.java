@@ -0,0 +1,338 @@
+package memory.library;
+
+import memory.model.BinarySaveFile;
+import memory.model.SaveFile;
+import memory.model.SaveFileException;
+import memory.util.Observable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An index of every save below a directory, persisted between runs and kept current while the game runs.
+ * Only saves that are new or changed since they were indexed get read again.
+ * Observers are notified on the library's own thread whenever entries change.
+ */
+public class SaveLibrary extends Observable<SaveLibrary> implements Closeable {
+    private static final System.Logger LOGGER = System.getLogger(SaveLibrary.class.getName());
+    private static final int MAGIC = 0x4D454D49;
+    private static final int VERSION = 1;
+    private static final int BATCH = 32;
+
+    private final Path root;
+    private final Path indexPath;
+    private final Map<Path, SaveEntry> entries = new ConcurrentHashMap<>();
+    private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+    private WatchService watcher;
+    private Thread thread;
+
+    /**
+     * @param root      The directory holding the saves.
+     * @param indexPath The file the index is kept in.
+     */
+    public SaveLibrary(Path root, Path indexPath) {
+        this.root = root.toAbsolutePath().normalize();
+        this.indexPath = indexPath;
+    }
+
+    /**
+     * Loads the stored index, brings it up to date and keeps watching for changes on a background thread.
+     */
+    public synchronized void start() {
+        if (this.thread != null) return;
+
+        this.thread = new Thread(this::run, "save-library");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void run() {
+        this.readIndex();
+        this.update(this);
+
+        try {
+            this.watcher = this.root.getFileSystem().newWatchService();
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Saves won't be watched for changes", e);
+        }
+
+        this.refresh();
+        this.watch();
+    }
+
+    /**
+     * @return Every indexed save, sorted by path.
+     */
+    public List<SaveEntry> getEntries() {
+        var result = new ArrayList<>(this.entries.values());
+        result.sort(Comparator.comparing(SaveEntry::getPath));
+
+        return result;
+    }
+
+    public Path getRoot() {
+        return this.root;
+    }
+
+    /**
+     * Walks the whole directory in parallel and reads every save that isn't indexed yet or has changed.
+     *
+     * @return The amount of saves that were read.
+     */
+    public int refresh() {
+        if (!Files.isDirectory(this.root)) return 0;
+
+        var seen = ConcurrentHashMap.<Path>newKeySet();
+        var read = new AtomicInteger();
+
+        ForkJoinPool.commonPool().invoke(new Walk(this.root, seen, read));
+
+        var removed = this.entries.keySet().retainAll(seen);
+
+        if (read.get() > 0 || removed) this.changed();
+
+        return read.get();
+    }
+
+    /**
+     * Brings the entry of a single file up to date, reading it only if it changed.
+     *
+     * @return true if the entry changed.
+     */
+    private boolean index(Path path) {
+        BasicFileAttributes attributes;
+
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return this.entries.remove(path) != null;
+        }
+
+        var size = attributes.size();
+        var modified = attributes.lastModifiedTime().toMillis();
+        var entry = this.entries.get(path);
+
+        if (entry != null && !entry.isStale(size, modified)) return false;
+
+        try {
+            entry = SaveEntry.of(path, size, modified, SaveFile.read(path));
+        } catch (IOException | SaveFileException e) {
+            entry = SaveEntry.invalid(path, size, modified, e.getMessage());
+        }
+
+        this.entries.put(path, entry);
+
+        return true;
+    }
+
+    private static boolean isSave(Path path) {
+        var name = path.getFileName().toString();
+
+        return name.endsWith(".mem") || name.endsWith(BinarySaveFile.EXTENSION);
+    }
+
+    /**
+     * Registers a directory with the watcher, if there is one.
+     */
+    private void register(Path directory) {
+        if (this.watcher == null) return;
+
+        try {
+            var key = directory.register(this.watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            this.directories.put(key, directory);
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Can't watch " + directory, e);
+        }
+    }
+
+    /**
+     * Re-indexes whatever the watcher reports until the library is closed.
+     */
+    private void watch() {
+        if (this.watcher == null) return;
+
+        while (true) {
+            WatchKey key;
+
+            try {
+                key = this.watcher.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            var directory = this.directories.get(key);
+            var changed = false;
+            var overflow = false;
+
+            for (var event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                    overflow = true;
+                    continue;
+                }
+
+                var path = directory.resolve((Path) event.context());
+
+                if (Files.isDirectory(path)) {
+                    // New directories might already hold saves, walk them.
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) overflow = true;
+                } else if (isSave(path)) {
+                    changed |= this.index(path);
+                } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                    changed |= this.removeBelow(path);
+                }
+            }
+
+            if (!key.reset()) this.directories.remove(key);
+
+            if (overflow) this.refresh();
+            else if (changed) this.changed();
+        }
+    }
+
+    /**
+     * Drops the entries of a directory that was deleted.
+     */
+    private boolean removeBelow(Path directory) {
+        return this.entries.keySet().removeIf(path -> path.startsWith(directory));
+    }
+
+    private void changed() {
+        this.writeIndex();
+        this.update(this);
+    }
+
+    /**
+     * Reads the stored index, a missing or corrupted index just means every save gets read again.
+     */
+    private void readIndex() {
+        if (!Files.exists(this.indexPath)) return;
+
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.indexPath)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return;
+            if (!in.readUTF().equals(this.root.toString())) return;
+
+            var count = in.readInt();
+
+            for (int i = 0; i < count; i++) {
+                var path = this.root.resolve(in.readUTF());
+                this.entries.put(path, SaveEntry.read(path, in));
+            }
+        } catch (IOException e) {
+            this.entries.clear();
+            LOGGER.log(System.Logger.Level.INFO, "Rebuilding the save index", e);
+        }
+    }
+
+    private synchronized void writeIndex() {
+        var bytes = new ByteArrayOutputStream();
+
+        try (var out = new DataOutputStream(bytes)) {
+            var entries = this.getEntries();
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(this.root.toString());
+            out.writeInt(entries.size());
+
+            for (var entry : entries) {
+                out.writeUTF(this.root.relativize(entry.getPath()).toString());
+                entry.write(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            if (this.indexPath.getParent() != null) Files.createDirectories(this.indexPath.getParent());
+            SaveFile.replace(this.indexPath, ByteBuffer.wrap(bytes.toByteArray()));
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Can't store the save index", e);
+        }
+    }
+
+    /**
+     * Stops watching.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.watcher != null) this.watcher.close();
+        if (this.thread != null) this.thread.interrupt();
+    }
+
+    /**
+     * Indexes one directory, forking a task for every directory in it and for every batch of saves.
+     */
+    // Tasks are never serialized, they only run on the library's pool.
+    @SuppressWarnings("serial")
+    private class Walk extends RecursiveAction {
+        private final Path directory;
+        private final Set<Path> seen;
+        private final AtomicInteger read;
+
+        private Walk(Path directory, Set<Path> seen, AtomicInteger read) {
+            this.directory = directory;
+            this.seen = seen;
+            this.read = read;
+        }
+
+        @Override
+        protected void compute() {
+            var tasks = new ArrayList<RecursiveAction>();
+            var saves = new ArrayList<Path>();
+
+            SaveLibrary.this.register(this.directory);
+
+            try (var stream = Files.newDirectoryStream(this.directory)) {
+                for (var path : stream) {
+                    if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                        tasks.add(new Walk(path, this.seen, this.read));
+                    } else if (isSave(path)) {
+                        this.seen.add(path);
+                        saves.add(path);
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Can't read " + this.directory, e);
+            }
+
+            for (int from = 0; from < saves.size(); from += BATCH) {
+                tasks.add(new Read(saves.subList(from, Math.min(from + BATCH, saves.size())), this.read));
+            }
+
+            invokeAll(tasks);
+        }
+    }
+
+    /**
+     * Indexes a batch of saves.
+     */
+    // Tasks are never serialized, they only run on the library's pool.
+    @SuppressWarnings("serial")
+    private class Read extends RecursiveAction {
+        private final List<Path> saves;
+        private final AtomicInteger read;
+
+        private Read(List<Path> saves, AtomicInteger read) {
+            this.saves = saves;
+            this.read = read;
+        }
+
+        @Override
+        protected void compute() {
+            for (var path : this.saves) {
+                if (SaveLibrary.this.index(path)) this.read.incrementAndGet();
+            }
+        }
+    }
+}
@@ -1,23 +1,47 @@
 package memory.model;
 
-import java.text.DecimalFormat;
+import java.util.Arrays;
 
+/**
+ * The reward for a pair. Badges are interned per pair id, every player holding pair 3 holds the same badge.
+ */
 public class Badge {
-    private Integer id;
-    private String url;
+    private static volatile Badge[] badges = new Badge[Card.IMAGES + 1];
 
-    public Badge(Integer id) {
+    private final int id;
+    private final String url;
+
+    private Badge(int id) {
         this.id = id;
+        this.url = Card.getUrl(id);
+    }
+
+    /**
+     * Returns the badge of the given pair id.
+     *
+     * @param id The pair id.
+     */
+    public static Badge of(int id) {
+        var badges = Badge.badges;
+
+        if (id < 1) return new Badge(id);
+        if (id < badges.length && badges[id] != null) return badges[id];
+
+        return intern(id);
+    }
+
+    private static synchronized Badge intern(int id) {
+        if (id >= badges.length) badges = Arrays.copyOf(badges, Math.max(id + 1, badges.length * 2));
+        if (badges[id] == null) badges[id] = new Badge(id);
 
-        var decimalFormat = new DecimalFormat("00");
-        this.url = String.format("/images/image%s.jpg", decimalFormat.format(id));
+        return badges[id];
     }
 
-    public Integer getId() {
-        return id;
+    public int getId() {
+        return this.id;
     }
 
     public String getUrl() {
-        return url;
+        return this.url;
     }
 }
@@ -0,0 +1,259 @@
+package memory.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * The versioned binary save format, stored in .memb files.
+ *
+ * <pre>
+ * magic "MEMB", version, flags
+ * rows, columns                  varints
+ * seed                           8 bytes, only if the HAS_SEED flag is set
+ * bits per card, cards           card id + 1, bit-packed
+ * 2x name, badge count, badges   varint length + UTF-8, varints of badge id + 1
+ * current player                 1 byte
+ * move count, moves              varints of cell indices
+ * checksum                       CRC32 of everything before it
+ * </pre>
+ */
+public class BinarySaveFile {
+    public static final String EXTENSION = ".memb";
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'M', 'E', 'M', 'B'};
+    private static final int HAS_SEED = 1;
+
+    /**
+     * @return true if the buffer starts with a binary save.
+     */
+    public static boolean matches(ByteBuffer buffer) {
+        if (buffer.remaining() < MAGIC.length) return false;
+
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(buffer.position() + i) != MAGIC[i]) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Reads a binary save from the given buffer.
+     *
+     * @param buffer The binary save, for example a mapped file.
+     */
+    public static SaveFile read(ByteBuffer buffer) throws SaveFileException {
+        var start = buffer.position();
+
+        if (buffer.remaining() < MAGIC.length + 6) throw new SaveFileException("The file is too short to be a save.", 0);
+        if (!matches(buffer)) throw new SaveFileException("The file isn't a binary save.", 0);
+
+        var checksum = new CRC32();
+        var body = buffer.duplicate();
+        body.limit(buffer.limit() - 4);
+        checksum.update(body);
+
+        if ((int) checksum.getValue() != buffer.getInt(buffer.limit() - 4)) {
+            throw new SaveFileException("The checksum doesn't match, the file is corrupted.", buffer.limit() - 4 - start);
+        }
+
+        var data = buffer.duplicate();
+        data.limit(buffer.limit() - 4);
+        data.position(start + MAGIC.length);
+
+        try {
+            return read(data, start);
+        } catch (BufferUnderflowException e) {
+            throw new SaveFileException("Unexpected end of file.", data.position() - start);
+        }
+    }
+
+    private static SaveFile read(ByteBuffer data, int start) throws SaveFileException {
+        var version = data.get() & 0xFF;
+        if (version > VERSION) throw new SaveFileException(String.format("Version %s is newer than this game.", version), data.position() - 1 - start);
+
+        var flags = data.get() & 0xFF;
+        var rows = readVarint(data, start);
+        var columns = readVarint(data, start);
+
+        var boardEnd = data.position() - start;
+        SaveFileValidator.checkBoard(rows, columns, (message, index) -> new SaveFileException(message, boardEnd));
+
+        var seed = ((flags & HAS_SEED) != 0) ? Long.valueOf(data.getLong()) : null;
+
+        var gridStart = data.position() - start;
+        var grid = readGrid(data, rows * columns, start);
+        var pairs = grid.length / 2;
+
+        SaveFileValidator.checkGrid(grid, (message, cell) -> new SaveFileException(message, gridStart));
+
+        var names = new String[2];
+        var badges = new int[2][];
+
+        for (int player = 0; player < 2; player++) {
+            var length = readVarint(data, start);
+            if (length > data.remaining()) throw new SaveFileException("Name runs past the end of the file.", data.position() - start);
+
+            var bytes = new byte[length];
+            data.get(bytes);
+            names[player] = new String(bytes, StandardCharsets.UTF_8);
+
+            badges[player] = new int[readCount(data, start)];
+            for (int i = 0; i < badges[player].length; i++) {
+                var id = readVarint(data, start) - 1;
+                var offset = data.position() - start;
+
+                SaveFileValidator.checkBadge(id, pairs, (message, index) -> new SaveFileException(message, offset));
+
+                badges[player][i] = id;
+            }
+        }
+
+        var badgesEnd = data.position() - start;
+        SaveFileValidator.checkBadges(grid, badges, (message, player) -> new SaveFileException(message, badgesEnd));
+
+        var currentOffset = data.position() - start;
+        var current = data.get();
+        SaveFileValidator.checkCurrentPlayer(current, (message, index) -> new SaveFileException(message, currentOffset));
+
+        var moves = new int[readCount(data, start)];
+        for (int i = 0; i < moves.length; i++) moves[i] = readVarint(data, start);
+
+        return new SaveFile(rows, columns, grid, names, badges, current, seed, moves);
+    }
+
+    /**
+     * Writes the save in the binary format.
+     *
+     * @param save The save to write.
+     * @return A buffer holding the complete file.
+     */
+    public static ByteBuffer write(SaveFile save) {
+        var out = new ByteArrayOutputStream(64 + save.getGrid().length);
+
+        out.writeBytes(MAGIC);
+        out.write(VERSION);
+        out.write((save.getSeed() != null) ? HAS_SEED : 0);
+        writeVarint(out, save.getRows());
+        writeVarint(out, save.getColumns());
+
+        if (save.getSeed() != null) {
+            var seed = save.getSeed();
+            for (int shift = 56; shift >= 0; shift -= 8) out.write((int) (seed >>> shift));
+        }
+
+        writeGrid(out, save.getGrid());
+
+        for (int player = 0; player < 2; player++) {
+            var name = save.getName(player).getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, name.length);
+            out.writeBytes(name);
+
+            writeVarint(out, save.getBadges(player).length);
+            for (int id : save.getBadges(player)) writeVarint(out, id + 1);
+        }
+
+        out.write(save.getCurrentPlayer());
+
+        writeVarint(out, save.getMoves().length);
+        for (int move : save.getMoves()) writeVarint(out, move);
+
+        var checksum = new CRC32();
+        var bytes = out.toByteArray();
+        checksum.update(bytes);
+
+        var buffer = ByteBuffer.allocate(bytes.length + 4);
+        buffer.put(bytes);
+        buffer.putInt((int) checksum.getValue());
+        buffer.flip();
+
+        return buffer;
+    }
+
+    /**
+     * Reads card ids stored as id + 1 in as few bits as the largest id needs.
+     */
+    private static int[] readGrid(ByteBuffer data, int cells, int start) throws SaveFileException {
+        var bits = data.get() & 0xFF;
+        if (bits < 1 || bits > 31) throw new SaveFileException(String.format("%s bits per card isn't valid.", bits), data.position() - 1 - start);
+
+        if ((long) cells * bits > (long) data.remaining() * 8) throw new SaveFileException("The grid runs past the end of the file.", data.position() - start);
+
+        var grid = new int[cells];
+        var mask = (1L << bits) - 1;
+        var buffer = 0L;
+        var buffered = 0;
+
+        for (int i = 0; i < cells; i++) {
+            while (buffered < bits) {
+                buffer |= (data.get() & 0xFFL) << buffered;
+                buffered += 8;
+            }
+
+            grid[i] = (int) (buffer & mask) - 1;
+            buffer >>>= bits;
+            buffered -= bits;
+        }
+
+        return grid;
+    }
+
+    private static void writeGrid(ByteArrayOutputStream out, int[] grid) {
+        var bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(grid.length / 2 + 1));
+        var buffer = 0L;
+        var buffered = 0;
+
+        out.write(bits);
+
+        for (int id : grid) {
+            buffer |= (long) (id + 1) << buffered;
+            buffered += bits;
+
+            while (buffered >= 8) {
+                out.write((int) buffer);
+                buffer >>>= 8;
+                buffered -= 8;
+            }
+        }
+
+        if (buffered > 0) out.write((int) buffer);
+    }
+
+    private static int readVarint(ByteBuffer data, int start) throws SaveFileException {
+        var value = 0L;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+            var b = data.get();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                if (value > Integer.MAX_VALUE) break;
+                return (int) value;
+            }
+        }
+
+        throw new SaveFileException("Number is too large.", data.position() - start);
+    }
+
+    /**
+     * Reads the length of a list of varints, which can't be longer than the bytes that are left.
+     */
+    private static int readCount(ByteBuffer data, int start) throws SaveFileException {
+        var count = readVarint(data, start);
+        if (count > data.remaining()) throw new SaveFileException("A list runs past the end of the file.", data.position() - start);
+
+        return count;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        out.write(value);
+    }
+}
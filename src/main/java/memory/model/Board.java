@@ -0,0 +1,100 @@
+package memory.model;
+
+import java.util.BitSet;
+
+/**
+ * Primitive rows x columns card state.
+ * A cell holds a pair id, or {@link #REMOVED} once its pair has been matched.
+ */
+public class Board {
+    public static final int REMOVED = -1;
+
+    private final int rows;
+    private final int columns;
+    private final int[] ids;
+    private final BitSet shown;
+    private int remaining;
+
+    public Board(int rows, int columns) {
+        if (rows < 1 || columns < 1) throw new IllegalArgumentException("A board needs at least one row and one column.");
+        if ((rows * columns) % 2 != 0) throw new IllegalArgumentException("A board needs an even number of cells.");
+
+        this.rows = rows;
+        this.columns = columns;
+        this.ids = new int[rows * columns];
+        this.shown = new BitSet(this.ids.length);
+    }
+
+    /**
+     * Replaces every cell with the given .mem-like data.
+     *
+     * @param data One pair id or {@link #REMOVED} per cell.
+     */
+    public void load(int[] data) {
+        if (data.length != this.ids.length) throw new IllegalArgumentException("Expected " + this.ids.length + " cells, got " + data.length + ".");
+
+        System.arraycopy(data, 0, this.ids, 0, data.length);
+        this.shown.clear();
+
+        this.remaining = 0;
+        for (int id : data) if (id != REMOVED) this.remaining++;
+    }
+
+    public int getRows() {
+        return this.rows;
+    }
+
+    public int getColumns() {
+        return this.columns;
+    }
+
+    public int size() {
+        return this.ids.length;
+    }
+
+    /**
+     * @return The amount of pairs a full board holds.
+     */
+    public int getPairs() {
+        return this.ids.length / 2;
+    }
+
+    /**
+     * @return The amount of cards that haven't been matched yet.
+     */
+    public int getRemaining() {
+        return this.remaining;
+    }
+
+    public int getId(int index) {
+        return this.ids[index];
+    }
+
+    public void setId(int index, int id) {
+        if (this.ids[index] != REMOVED) this.remaining--;
+        if (id != REMOVED) this.remaining++;
+
+        this.ids[index] = id;
+    }
+
+    public boolean isRemoved(int index) {
+        return this.ids[index] == REMOVED;
+    }
+
+    public boolean isShown(int index) {
+        return this.shown.get(index);
+    }
+
+    public void show(int index, boolean shown) {
+        this.shown.set(index, shown);
+    }
+
+    /**
+     * Copies the ids into a new array.
+     *
+     * @return .mem-like data for every cell.
+     */
+    public int[] toArray() {
+        return this.ids.clone();
+    }
+}
@@ -1,53 +1,65 @@
 package memory.model;
 
-import memory.util.Observable;
-
-public class Card extends Observable<Card> {
-    private Integer id;
-    private String url;
-    private boolean selected = false;
-    private boolean shown = false;
-    private boolean cheatMode;
-    private final String cover = "/images/reverse.jpg";
-
-    public Card(Integer id, String url, boolean cheatMode) {
-        this.id = id;
-        this.url = url;
+/**
+ * A view on a single cell of a {@link Board}.
+ * Cards only exist for cells that are being rendered, the board itself keeps the state.
+ * Changes to cards are announced through the game's events.
+ */
+public class Card {
+    public static final int IMAGES = 18;
+
+    public static final String COVER = "/images/reverse.jpg";
+    private static final String[] URLS = new String[IMAGES + 1];
+
+    static {
+        for (int id = 1; id <= IMAGES; id++) URLS[id] = String.format("/images/image%02d.jpg", id);
+    }
+
+    private final Board board;
+    private final int index;
+    private final boolean cheatMode;
+
+    public Card(Board board, int index, boolean cheatMode) {
+        this.board = board;
+        this.index = index;
         this.cheatMode = cheatMode;
     }
 
-    public Integer getId() {
-        return this.id;
+    /**
+     * Returns the image of the given pair id.
+     * Boards with more pairs than images reuse the images in order.
+     *
+     * @param id The pair id.
+     */
+    public static String getUrl(int id) {
+        return URLS[(id == Board.REMOVED) ? 1 : (id - 1) % IMAGES + 1];
     }
 
-    public void setId(Integer id) {
-        this.id = id;
-        this.update(this);
+    public int getIndex() {
+        return this.index;
     }
 
-    public String getUrl() {
-        return this.url;
+    public int getId() {
+        return this.board.getId(this.index);
     }
 
-    public String getCover() {
-        return (this.cheatMode) ? this.url : this.cover;
+    public void setId(int id) {
+        this.board.setId(this.index, id);
     }
 
-    public boolean isSelected() {
-        return this.selected;
+    public String getUrl() {
+        return getUrl(this.getId());
     }
 
-    public void select(boolean selected) {
-        this.selected = selected;
-        this.update(this);
+    public String getCover() {
+        return (this.cheatMode) ? this.getUrl() : COVER;
     }
 
     public boolean isShown() {
-        return shown;
+        return this.board.isShown(this.index);
     }
 
     public void show(boolean shown) {
-        this.shown = shown;
-        this.update(this);
+        this.board.show(this.index, shown);
     }
 }
@@ -1,36 +1,89 @@
 package memory.model;
 
+import memory.jfr.PairResolutionEvent;
+import memory.model.event.*;
+import memory.util.EventBus;
 import memory.util.Observable;
 
 import java.io.*;
-import java.text.DecimalFormat;
+import java.nio.file.Path;
 import java.util.*;
 
 public class Game extends Observable<Game> {
+    public static final int ROWS = 6;
+    public static final int COLUMNS = 6;
+
     private Player playerOne;
     private Player playerTwo;
     private Player currentPlayer;
-    private List<Card> cards = new ArrayList<>();
-    private List<Card> selectedCards = new ArrayList<>();
+    private Board board;
+    private Card[] cards;
+    private final int[] selectedCards = new int[2];
+    private int selectedCount = 0;
+    private Long seed;
+    // Every selected cell since the game started, two per turn. Grows by doubling so a turn rarely allocates.
+    private int[] moves = new int[64];
+    private int moveCount = 0;
+    private final EventBus events = new EventBus();
+    private final Runnable turn = this::resolveTurn;
     private final boolean CHEAT_MODE = false;
 
     public Game() {
+        this(ROWS, COLUMNS);
+    }
+
+    public Game(int rows, int columns) {
+        this.board = new Board(rows, columns);
         this.generatePlayers();
     }
 
     /**
-     * Generate 36 cards and return .mem-like data to render the grid.
+     * Starts a new game from a random seed.
+     */
+    public void start() {
+        this.start(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Starts a new game that only depends on the seed, the same seed always deals the same board and starting player.
+     * Together with {@link #getMoves()} the seed reproduces the whole game, see {@link Replay}.
+     *
+     * @param seed The seed of the game.
+     */
+    public void start(long seed) {
+        var random = new SplittableRandom(seed);
+
+        Observable.transaction(() -> {
+            this.generatePlayers(random);
+            this.loadCards(this.generateCards(random));
+            this.seed = seed;
+        });
+    }
+
+    /**
+     * Generate a full board of shuffled pairs and return .mem-like data to render the grid.
+     */
+    public int[] generateCards() {
+        return this.generateCards(new SplittableRandom());
+    }
+
+    /**
+     * Generate a full board of pairs shuffled by the given source.
+     *
+     * @param random The source of the shuffle.
      */
-    public List<Integer> generateCards() {
-        List<Integer> data = new ArrayList<>();
+    public int[] generateCards(SplittableRandom random) {
+        var data = new int[this.board.size()];
 
         // Start pairs with + 1 to fix the offset caused by starting with 1.
-        for (int id = 1; id < 18 + 1; id++) {
-            data.add(id);
-            data.add(id);
-        }
+        for (int i = 0; i < data.length; i++) data[i] = i / 2 + 1;
 
-        Collections.shuffle(data);
+        for (int i = data.length - 1; i > 0; i--) {
+            var j = random.nextInt(i + 1);
+            var id = data[i];
+            data[i] = data[j];
+            data[j] = id;
+        }
 
         return data;
     }
@@ -39,34 +92,77 @@ public class Game extends Observable<Game> {
      * Chooses a random player to start.
      */
     public void generatePlayers() {
-        Random random = new Random();
+        this.generatePlayers(new SplittableRandom());
+    }
 
+    /**
+     * Chooses a player to start using the given source.
+     *
+     * @param random The source of the coin flip.
+     */
+    public void generatePlayers(SplittableRandom random) {
         var playerOne = new Player("Player 1");
         var playerTwo = new Player("Player 2");
 
-        this.setplayerOne(playerOne);
-        this.setplayerTwo(playerTwo);
+        Observable.transaction(() -> {
+            this.setplayerOne(playerOne);
+            this.setplayerTwo(playerTwo);
 
-        if (random.nextBoolean()) {
-            this.currentPlayer = this.playerOne;
-        } else {
-            this.currentPlayer = this.playerTwo;
-        }
+            if (random.nextBoolean()) {
+                this.currentPlayer = this.playerOne;
+            } else {
+                this.currentPlayer = this.playerTwo;
+            }
+        });
     }
 
     /**
      * Calculates if the selected cards make a pair and passes the turn to the next player.
+     * Observers and event handlers hear about the whole turn at once, after it has been processed.
      */
     public void calculatePair() {
-        var pair = this.selectedCards.get(0).getId().equals(this.selectedCards.get(1).getId());
+        if (!PairResolutionEvent.isRecorded()) {
+            Observable.transaction(this.turn);
+            return;
+        }
+
+        var event = new PairResolutionEvent();
+        event.first = this.selectedCards[0];
+        event.second = this.selectedCards[1];
+        event.pair = this.board.getId(event.first) == this.board.getId(event.second);
+        event.begin();
 
-        if (pair) this.getCurrentPlayer().addBadge(new Badge(this.getSelectedCards().get(0).getId()));
+        Observable.transaction(this.turn);
+
+        event.commit();
+    }
+
+    private void resolveTurn() {
+        var first = this.selectedCards[0];
+        var second = this.selectedCards[1];
+        var id = this.board.getId(first);
+        var pair = id == this.board.getId(second);
+        var player = this.getCurrentPlayer();
+
+        // Events are only created when someone listens, a turn without handlers allocates nothing.
+        if (pair) {
+            var badge = Badge.of(id);
+            player.addBadge(badge);
+
+            if (this.events.wants(PairMatched.class)) this.events.publish(new PairMatched(id, first, second, player));
+            if (this.events.wants(BadgeAwarded.class)) this.events.publish(new BadgeAwarded(player, badge));
+        } else if (this.events.wants(PairMissed.class)) {
+            this.events.publish(new PairMissed(first, second));
+        }
 
         this.processPair(pair);
 
         this.clearSelectedCards();
 
-        this.setCurrentPlayer((this.getCurrentPlayer() == this.getplayerOne()) ? this.getplayerTwo() : this.getplayerOne());
+        this.setCurrentPlayer((player == this.getplayerOne()) ? this.getplayerTwo() : this.getplayerOne());
+        if (this.events.wants(TurnPassed.class)) this.events.publish(new TurnPassed(this.getCurrentPlayer()));
+
+        if (this.checkForGameEnd() && this.events.wants(GameEnded.class)) this.events.publish(new GameEnded(this.checkForWinner()));
     }
 
     /**
@@ -74,29 +170,37 @@ public class Game extends Observable<Game> {
      * If so, add them to the players cards.
      */
     public void processPair(boolean pair) {
-        this.cards.forEach(card -> {
-            if (card.isShown()) {
-                card.select(true);
-                card.show(false);
-                if (pair) card.setId(-1);
-            }
-        });
+        for (int i = 0; i < this.selectedCount; i++) {
+            var index = this.selectedCards[i];
+
+            this.board.show(index, false);
+            if (pair) this.board.setId(index, Board.REMOVED);
+        }
     }
 
     /**
-     * Turn the data into actual card objects.
+     * Turn the data into a board of the current size.
      *
      * @param data .mem-like card data.
      */
-    public void loadCards(List<Integer> data) {
-        List<Card> cards = new ArrayList<>();
+    public void loadCards(int[] data) {
+        var board = new Board(this.board.getRows(), this.board.getColumns());
+        board.load(data);
 
-        data.forEach(id -> {
-            var decimalFormat = new DecimalFormat("00");
-            cards.add(new Card(id, String.format("/images/image%s.jpg", decimalFormat.format((id == -1) ? 1 : id)), CHEAT_MODE));
-        });
+        this.setBoard(board);
+    }
 
-        this.setCards(cards);
+    /**
+     * Returns the distinct images of the pairs that are still on the board.
+     */
+    public Set<String> getUrls() {
+        var urls = new LinkedHashSet<String>();
+
+        for (int i = 0; i < this.board.size(); i++) {
+            if (!this.board.isRemoved(i)) urls.add(Card.getUrl(this.board.getId(i)));
+        }
+
+        return urls;
     }
 
     /**
@@ -105,12 +209,12 @@ public class Game extends Observable<Game> {
      * @return true if the game should end.
      */
     public boolean checkForGameEnd() {
-        var playerOneBadges = this.getplayerOne().getBadges();
-        var playerTwoBadges = this.getplayerTwo().getBadges();
+        var playerOneBadges = this.getplayerOne().getBadgeCount();
+        var playerTwoBadges = this.getplayerTwo().getBadgeCount();
 
-        var allCardsUsed = playerOneBadges.size() + playerTwoBadges.size() >= 18;
-        var playerOneCheatMode = this.isCheatMode() && playerOneBadges.size() >= 3;
-        var playerTwoCheatMode = this.isCheatMode() && playerTwoBadges.size() >= 3;
+        var allCardsUsed = playerOneBadges + playerTwoBadges >= this.board.getPairs();
+        var playerOneCheatMode = this.isCheatMode() && playerOneBadges >= 3;
+        var playerTwoCheatMode = this.isCheatMode() && playerTwoBadges >= 3;
 
         if (allCardsUsed) return true;
         if (playerOneCheatMode) return true;
@@ -120,131 +224,60 @@ public class Game extends Observable<Game> {
     }
 
     /**
-     * Read a save file and return grid data based on its contents.
+     * Reads a save file in a single pass.
      *
      * @param save The save file.
      */
-    public List<Integer> readSaveFileGrid(File save) throws Exception {
-        List<Integer> data = new ArrayList<>();
-
-        var scanner = new Scanner(save);
-
-        while (scanner.hasNextInt()) {
-            var id = scanner.nextInt();
-
-            if (id > 18) throw new Exception();
-            if (id < -1) throw new Exception();
-
-            data.add(id);
-        }
-
-        if (data.size() != 36) throw new Exception();
-
-        return data;
+    public SaveFile readSaveFile(File save) throws IOException, SaveFileException {
+        return SaveFile.read(save.toPath());
     }
 
     /**
-     * Read a save file and return player data on its contents.
+     * Replaces the board and players with the contents of a save.
      *
-     * @param save The save file.
+     * @param save The save to load.
      */
-    public Player readSaveFilePlayer(File save, Integer playerNumber) throws Exception {
-        var player = new Player("Player");
-
-        var scanner = new Scanner(save);
-
-        // Skip grid data.
-        while (scanner.hasNextInt()) {
-            scanner.nextInt();
-        }
-        scanner.nextLine();
-
-        if (playerNumber == 2) {
-            scanner.nextLine();
-            scanner.nextLine();
-        }
-
-        var name = scanner.nextLine();
-
-        player.setName(name);
-
-        var line = scanner.nextLine();
-
-        var lineScanner = new Scanner(line);
-
-        while (lineScanner.hasNextInt()) {
-            var id = lineScanner.nextInt();
-
-            if (id > 18) throw new Exception();
-            if (id < -1) throw new Exception();
-
-            player.addBadge(new Badge(id));
-        }
-
-        lineScanner.close();
-
-        return player;
+    public void load(SaveFile save) {
+        var board = save.toBoard();
+
+        Observable.transaction(() -> {
+            this.setplayerOne(save.toPlayer(0));
+            this.setplayerTwo(save.toPlayer(1));
+            this.setCurrentPlayer((save.getCurrentPlayer() == 0) ? this.getplayerOne() : this.getplayerTwo());
+            this.setBoard(board);
+
+            this.seed = save.getSeed();
+            this.moveCount = save.getMoves().length;
+            if (this.moves.length < this.moveCount) this.moves = new int[this.moveCount * 2];
+            System.arraycopy(save.getMoves(), 0, this.moves, 0, this.moveCount);
+        });
     }
 
     /**
-     * Reads the current player data from the given save file.
+     * Writes the current game data to the provided file, replacing it atomically.
      *
-     * @param save The save file.
+     * @param file The file the data gets written to.
+     * @return The file that was written, with .mem added if it had no extension.
      */
-    public void readSaveFileCurrentPlayer(File save) throws Exception {
-        var scanner = new Scanner(save);
-
-        for (int i = 0; i < 10; i++) scanner.nextLine();
+    public Path writeSaveFile(File file) throws IOException {
+        var path = getSavePath(file);
 
-        var current = scanner.nextInt();
+        SaveFile.of(this).write(path);
 
-        if (current != 0 && current != 1) throw new Exception();
-
-        if (current == 0) this.setCurrentPlayer(this.getplayerOne());
-        else this.setCurrentPlayer(this.getplayerTwo());
+        return path;
     }
 
     /**
-     * Writes the current game data to the provided file.
+     * Returns the path a save to the given file ends up in, .mem is added if it has no extension.
      *
-     * @param file The file the data gets written to.
+     * @param file The chosen file.
      */
-    public void writeSaveFile(File file) {
+    public static Path getSavePath(File file) {
         if (!file.getName().contains(".")) {
             file = new File(file.getAbsolutePath() + ".mem");
         }
 
-        var cards = this.getCards();
-
-        try {
-            BufferedWriter bw = new BufferedWriter(new FileWriter(file, false));
-            for (int i = 0; i < cards.size(); i++) {
-                bw.write(String.format("%s ", cards.get(i).getId().toString()));
-                if ((i + 1) % 6 == 0) bw.newLine();
-            }
-
-            bw.write(this.playerOne.getName().getValue());
-            bw.newLine();
-
-            for (int i = 0; i < playerOne.getBadges().size(); i++) {
-                bw.write(String.format("%s ", playerOne.getBadges().get(i).getId().toString()));
-            }
-
-            bw.newLine();
-            bw.write(this.playerTwo.getName().getValue());
-            bw.newLine();
-
-            for (int i = 0; i < playerTwo.getBadges().size(); i++) {
-                bw.write(String.format("%s ", playerTwo.getBadges().get(i).getId().toString()));
-            }
-
-            bw.newLine();
-
-            if (this.currentPlayer == playerOne) bw.write("0");
-            else bw.write("1");
-            bw.close();
-        } catch (IOException ignored) {
-        }
+        return file.toPath();
     }
 
     public void setplayerOne(Player player) {
@@ -274,27 +307,82 @@ public class Game extends Observable<Game> {
         return this.currentPlayer;
     }
 
-    public List<Card> getCards() {
-        return List.copyOf(this.cards);
+    public Board getBoard() {
+        return this.board;
     }
 
-    public void setCards(List<Card> cards) {
-        this.cards = cards;
+    public void setBoard(Board board) {
+        this.board = board;
+        this.cards = null;
+        this.selectedCount = 0;
+        this.seed = null;
+        this.moveCount = 0;
         this.update(this);
+
+        if (this.events.wants(GameStarted.class)) this.events.publish(new GameStarted());
     }
 
-    public List<Card> getSelectedCards() {
-        return List.copyOf(this.selectedCards);
+    /**
+     * Returns the seed the game was started from, or null if it was dealt some other way.
+     */
+    public Long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Returns the cells that were selected since the game started, two per turn.
+     */
+    public int[] getMoves() {
+        return Arrays.copyOf(this.moves, this.moveCount);
+    }
+
+    public int getMoveCount() {
+        return this.moveCount;
+    }
+
+    /**
+     * Returns the events of this game, see the memory.model.event package for the types.
+     */
+    public EventBus getEvents() {
+        return this.events;
+    }
+
+    /**
+     * Returns the card of the given cell.
+     * Cards are only created for cells that get asked for.
+     *
+     * @param index The index of the cell.
+     */
+    public Card getCard(int index) {
+        if (this.cards == null) this.cards = new Card[this.board.size()];
+        if (this.cards[index] == null) this.cards[index] = new Card(this.board, index, CHEAT_MODE);
+
+        return this.cards[index];
+    }
+
+    public int getSelectedCount() {
+        return this.selectedCount;
+    }
+
+    public int getSelectedCard(int i) {
+        return this.selectedCards[i];
     }
 
     public void clearSelectedCards() {
-        this.selectedCards.clear();
+        this.selectedCount = 0;
         this.update(this);
     }
 
-    public void addSelectedCard(Card card) {
-        this.selectedCards.add(card);
+    public void addSelectedCard(int index) {
+        if (this.selectedCount == this.selectedCards.length) throw new IllegalStateException("Two cards are already selected.");
+
+        this.selectedCards[this.selectedCount++] = index;
+
+        if (this.moveCount == this.moves.length) this.moves = Arrays.copyOf(this.moves, this.moves.length * 2);
+        this.moves[this.moveCount++] = index;
+
         this.update(this);
+        if (this.events.wants(CardFlipped.class)) this.events.publish(new CardFlipped(index, this.board.getId(index)));
     }
 
     public boolean isCheatMode() {
@@ -302,9 +390,17 @@ public class Game extends Observable<Game> {
     }
 
     public String checkForWinner() {
-        var winner = (this.playerOne.getBadges().size() > this.playerTwo.getBadges().size()) ? this.playerOne.getName().getValue() : this.playerTwo.getName().getValue();
-        winner = (this.playerOne.getBadges().size() == this.playerTwo.getBadges().size()) ? "No one" : winner;
+        var winner = this.getWinner();
+
+        return (winner == null) ? "No one" : winner.getName().getValue();
+    }
+
+    /**
+     * @return The player with the most badges, or null if both have as many.
+     */
+    public Player getWinner() {
+        if (this.playerOne.getBadgeCount() == this.playerTwo.getBadgeCount()) return null;
 
-        return winner;
+        return (this.playerOne.getBadgeCount() > this.playerTwo.getBadgeCount()) ? this.playerOne : this.playerTwo;
     }
 }
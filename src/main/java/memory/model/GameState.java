@@ -0,0 +1,143 @@
+package memory.model;
+
+import memory.util.IntVector;
+
+/**
+ * An immutable state of a game between two turns, which shares everything it didn't change with the state it came from.
+ * The grid is an {@link IntVector} and the badges and moves are linked lists that grow at the front,
+ * so the state after a turn costs a few small objects instead of a copy of the board.
+ */
+public final class GameState {
+    private final int rows;
+    private final int columns;
+    private final IntVector grid;
+    private final String[] names;
+    private final Link[] badges;
+    private final int currentPlayer;
+    private final Long seed;
+    private final Link moves;
+
+    /**
+     * One value of a list, with the values that came before it.
+     */
+    private static final class Link {
+        final int value;
+        final Link previous;
+        final int size;
+
+        Link(int value, Link previous) {
+            this.value = value;
+            this.previous = previous;
+            this.size = (previous == null) ? 1 : previous.size + 1;
+        }
+    }
+
+    private GameState(int rows, int columns, IntVector grid, String[] names, Link[] badges, int currentPlayer, Long seed, Link moves) {
+        this.rows = rows;
+        this.columns = columns;
+        this.grid = grid;
+        this.names = names;
+        this.badges = badges;
+        this.currentPlayer = currentPlayer;
+        this.seed = seed;
+        this.moves = moves;
+    }
+
+    /**
+     * Captures the state of a game, which copies the board once.
+     * Cards that are selected at the moment aren't part of the state.
+     *
+     * @param game The game to capture.
+     */
+    public static GameState of(Game game) {
+        var save = SaveFile.of(game);
+        var badges = new Link[2];
+        Link moves = null;
+
+        for (int player = 0; player < 2; player++) {
+            for (int id : save.getBadges(player)) badges[player] = new Link(id, badges[player]);
+        }
+
+        var played = save.getMoves();
+        for (int i = 0; i < played.length - played.length % 2; i++) moves = new Link(played[i], moves);
+
+        var names = new String[]{save.getName(0), save.getName(1)};
+
+        return new GameState(save.getRows(), save.getColumns(), IntVector.of(save.getGrid()), names, badges, save.getCurrentPlayer(), save.getSeed(), moves);
+    }
+
+    /**
+     * Returns the state after a turn, this state stays as it is.
+     *
+     * @param first  The first selected cell.
+     * @param second The second selected cell.
+     * @param pair   Whether the cells were a pair, which removes them and gives their badge to the current player.
+     */
+    public GameState play(int first, int second, boolean pair) {
+        var grid = this.grid;
+        var badges = this.badges;
+
+        if (pair) {
+            badges = badges.clone();
+            badges[this.currentPlayer] = new Link(grid.get(first), badges[this.currentPlayer]);
+            grid = grid.set(first, Board.REMOVED).set(second, Board.REMOVED);
+        }
+
+        var moves = new Link(second, new Link(first, this.moves));
+
+        return new GameState(this.rows, this.columns, grid, this.names, badges, 1 - this.currentPlayer, this.seed, moves);
+    }
+
+    /**
+     * Creates the save that holds this state, to load it into a game.
+     */
+    public SaveFile toSaveFile() {
+        return new SaveFile(this.rows, this.columns, this.grid.toArray(), this.names.clone(), new int[][]{toArray(this.badges[0]), toArray(this.badges[1])}, this.currentPlayer, this.seed, toArray(this.moves));
+    }
+
+    private static int[] toArray(Link link) {
+        var result = new int[(link == null) ? 0 : link.size];
+
+        for (int i = result.length - 1; i >= 0; i--, link = link.previous) result[i] = link.value;
+
+        return result;
+    }
+
+    public int getRows() {
+        return this.rows;
+    }
+
+    public int getColumns() {
+        return this.columns;
+    }
+
+    public int getId(int index) {
+        return this.grid.get(index);
+    }
+
+    public String getName(int player) {
+        return this.names[player];
+    }
+
+    public int getBadgeCount(int player) {
+        return (this.badges[player] == null) ? 0 : this.badges[player].size;
+    }
+
+    /**
+     * @return 0 if player one is on turn, 1 if player two is.
+     */
+    public int getCurrentPlayer() {
+        return this.currentPlayer;
+    }
+
+    public Long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * @return The amount of cells selected since the game started, two per turn.
+     */
+    public int getMoveCount() {
+        return (this.moves == null) ? 0 : this.moves.size;
+    }
+}
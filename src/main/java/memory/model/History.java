@@ -0,0 +1,191 @@
+package memory.model;
+
+import memory.model.event.CardFlipped;
+import memory.model.event.GameStarted;
+import memory.model.event.PairMatched;
+import memory.model.event.TurnPassed;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Undo, redo and snapshots for a game, as a tree of {@link GameState}s with one state per turn.
+ * Every turn only adds what it changed to the state before it, so keeping the whole tree is cheap.
+ * Undoing and then playing a different turn starts a new branch, the turns that were undone stay available
+ * as another branch of the same state.
+ */
+public class History {
+    private final Game game;
+    private final Map<String, Node> snapshots = new HashMap<>();
+    private Node current;
+    // The cells selected in the turn that's being played, in the order their flips arrived.
+    private int flips = 0;
+    private int first;
+    private int second;
+    private boolean pair;
+    private boolean restoring = false;
+
+    /**
+     * A state with the states that were played from it.
+     */
+    private static final class Node {
+        final GameState state;
+        final Node parent;
+        final List<Node> children = new ArrayList<>(1);
+        // The child redo goes to, the branch that was played or visited last.
+        Node next;
+
+        Node(GameState state, Node parent) {
+            this.state = state;
+            this.parent = parent;
+        }
+    }
+
+    public History(Game game) {
+        this.game = game;
+        this.current = new Node(GameState.of(game), null);
+
+        var events = game.getEvents();
+
+        events.on(GameStarted.class, e -> this.reset());
+        events.on(CardFlipped.class, e -> {
+            // Counted here, the selection may already be further along by the time a deferred event arrives.
+            if (this.flips++ == 0) this.first = e.getIndex();
+            else this.second = e.getIndex();
+        });
+        events.on(PairMatched.class, e -> this.pair = true);
+        events.on(TurnPassed.class, e -> this.record());
+    }
+
+    /**
+     * Starts over from the game's new state, unless the state comes from this history.
+     */
+    private void reset() {
+        if (this.restoring) return;
+
+        this.current = new Node(GameState.of(this.game), null);
+        this.snapshots.clear();
+        this.flips = 0;
+        this.pair = false;
+    }
+
+    /**
+     * Adds the turn that was just played as a new state after the current one.
+     */
+    private void record() {
+        var state = this.current.state.play(this.first, this.second, this.pair);
+        var node = new Node(state, this.current);
+
+        this.current.children.add(node);
+        this.current.next = node;
+        this.current = node;
+        this.flips = 0;
+        this.pair = false;
+    }
+
+    /**
+     * @return The state after the last turn, taking it costs nothing.
+     */
+    public GameState getState() {
+        return this.current.state;
+    }
+
+    /**
+     * @return true if there's a turn to undo, or a card of the current turn to put back.
+     */
+    public boolean canUndo() {
+        return this.current.parent != null || this.game.getSelectedCount() > 0;
+    }
+
+    public boolean canRedo() {
+        return this.current.next != null;
+    }
+
+    /**
+     * Puts back the cards of the current turn, or goes back to the state before the last turn.
+     */
+    public void undo() {
+        if (this.game.getSelectedCount() == 0 && this.current.parent != null) this.current = this.current.parent;
+
+        this.restore();
+    }
+
+    /**
+     * Plays the last undone turn again, following the branch that was visited last.
+     */
+    public void redo() {
+        if (this.current.next == null) return;
+
+        this.current = this.current.next;
+        this.restore();
+    }
+
+    /**
+     * @return The amount of branches the current state has, the turns that were played from it.
+     */
+    public int getBranchCount() {
+        return this.current.children.size();
+    }
+
+    /**
+     * Makes redo follow the next branch of the current state, after the last one it goes back to the first.
+     *
+     * @return The number of the branch redo follows now.
+     */
+    public int nextBranch() {
+        var children = this.current.children;
+
+        if (children.isEmpty()) return -1;
+
+        var branch = (children.indexOf(this.current.next) + 1) % children.size();
+        this.current.next = children.get(branch);
+
+        return branch;
+    }
+
+    /**
+     * Remembers the current state under a name.
+     *
+     * @param name The name of the snapshot, an existing snapshot with the name is replaced.
+     */
+    public void snapshot(String name) {
+        this.snapshots.put(name, this.current);
+    }
+
+    public boolean hasSnapshot(String name) {
+        return this.snapshots.containsKey(name);
+    }
+
+    /**
+     * Goes back to a snapshot, the turns played since then stay available as a branch.
+     *
+     * @param name The name of the snapshot.
+     * @return false if there's no such snapshot.
+     */
+    public boolean restore(String name) {
+        var node = this.snapshots.get(name);
+        if (node == null) return false;
+
+        this.current = node;
+        this.restore();
+
+        return true;
+    }
+
+    /**
+     * Loads the current state into the game.
+     */
+    private void restore() {
+        this.restoring = true;
+
+        try {
+            this.game.load(this.current.state.toSaveFile());
+        } finally {
+            this.restoring = false;
+            this.flips = 0;
+            this.pair = false;
+        }
+    }
+}
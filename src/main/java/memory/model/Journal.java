@@ -0,0 +1,280 @@
+package memory.model;
+
+import memory.model.event.CardFlipped;
+import memory.model.event.GameStarted;
+import memory.model.event.TurnPassed;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Continuous autosave of a game as a binary snapshot plus an append-only journal of the moves made since.
+ * Moves are buffered and written in groups, with one fsync per group, on a background thread.
+ * After enough moves the journal is compacted into a new snapshot.
+ * The last group is only written by {@link #close()}, so the owner has to close the journal when it's done with it.
+ */
+public class Journal implements Closeable {
+    public static final int COMPACT_AFTER = 256;
+    public static final long COMMIT_INTERVAL = 50;
+
+    private static final int MAGIC = 0x4D454D4A;
+    private static final int HEADER = 8;
+    private static final int RECORD = 6;
+    private static final byte SELECT = 1;
+    private static final byte RESOLVE = 2;
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final ScheduledExecutorService writer;
+
+    // Guarded by this. The two buffers swap on every commit, so recording a move never allocates.
+    private ByteBuffer pending = ByteBuffer.allocate(RECORD * 64);
+    private ByteBuffer spare = ByteBuffer.allocate(RECORD * 64);
+    private SaveFile pendingSnapshot;
+    private int moves = 0;
+
+    // Only used by whoever holds the io lock.
+    private final Object io = new Object();
+    private FileChannel channel;
+
+    public Journal(Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        this.snapshotPath = directory.resolve("autosave" + BinarySaveFile.EXTENSION);
+        this.journalPath = directory.resolve("autosave.journal");
+
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "journal-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer.scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL, COMMIT_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Restores the last autosaved game by loading the snapshot and replaying the journal on top of it.
+     * A turn that was only half done gets undone.
+     *
+     * @param game The game to restore into.
+     * @return true if there was a game to restore.
+     */
+    public boolean recover(Game game) {
+        SaveFile snapshot;
+        ByteBuffer journal;
+        int checksum;
+
+        try {
+            snapshot = SaveFile.read(this.snapshotPath);
+            checksum = readChecksum(this.snapshotPath);
+            journal = ByteBuffer.wrap(Files.exists(this.journalPath) ? Files.readAllBytes(this.journalPath) : new byte[0]);
+        } catch (IOException | SaveFileException e) {
+            return false;
+        }
+
+        game.load(snapshot);
+
+        // The journal only belongs to this snapshot if it carries the snapshot's checksum.
+        if (journal.remaining() < HEADER || journal.getInt() != MAGIC || journal.getInt() != checksum) return true;
+
+        var board = game.getBoard();
+
+        while (journal.remaining() >= RECORD) {
+            var type = journal.get();
+            var index = journal.getInt();
+            var stored = journal.get();
+
+            if (stored != check(type, index)) break;
+
+            if (type == SELECT) {
+                if (index < 0 || index >= board.size() || board.isRemoved(index) || game.getSelectedCount() == 2) break;
+                game.addSelectedCard(index);
+            } else if (type == RESOLVE) {
+                if (game.getSelectedCount() != 2) break;
+                game.calculatePair();
+            } else {
+                break;
+            }
+        }
+
+        if (game.getSelectedCount() == 2) game.calculatePair();
+        if (game.getSelectedCount() == 1) game.clearSelectedCards();
+
+        return true;
+    }
+
+    /**
+     * Starts recording every move of the game, beginning with a snapshot of its current state.
+     * A new snapshot is taken whenever the game starts over.
+     *
+     * @param game The game to record.
+     */
+    public void attach(Game game) {
+        var events = game.getEvents();
+
+        events.on(CardFlipped.class, e -> this.select(e.getIndex()));
+        events.on(TurnPassed.class, e -> this.resolve(game));
+        events.on(GameStarted.class, e -> this.snapshot(game));
+
+        this.snapshot(game);
+    }
+
+    /**
+     * Records a selected card.
+     *
+     * @param index The index of the card.
+     */
+    public synchronized void select(int index) {
+        this.append(SELECT, index);
+    }
+
+    /**
+     * Records the end of a turn, compacting the journal once it has grown long enough.
+     *
+     * @param game The game the turn was played in.
+     */
+    public synchronized void resolve(Game game) {
+        this.append(RESOLVE, 0);
+
+        if (++this.moves >= COMPACT_AFTER) this.snapshot(game);
+    }
+
+    /**
+     * Replaces the snapshot with the current state of the game and starts a new, empty journal.
+     *
+     * @param game The game to snapshot.
+     */
+    public synchronized void snapshot(Game game) {
+        this.pendingSnapshot = SaveFile.of(game);
+        this.pending.clear();
+        this.moves = 0;
+    }
+
+    private void append(byte type, int index) {
+        if (this.pending.remaining() < RECORD) {
+            var grown = ByteBuffer.allocate(this.pending.capacity() * 2);
+            this.pending.flip();
+            grown.put(this.pending);
+            this.pending = grown;
+        }
+
+        this.pending.put(type).putInt(index).put(check(type, index));
+    }
+
+    /**
+     * Writes everything that was recorded since the last commit with a single fsync.
+     */
+    private void commit() {
+        synchronized (this.io) {
+            this.write();
+        }
+    }
+
+    private void write() {
+        SaveFile snapshot;
+        ByteBuffer records;
+
+        synchronized (this) {
+            snapshot = this.pendingSnapshot;
+            this.pendingSnapshot = null;
+
+            if (snapshot == null && this.pending.position() == 0) return;
+
+            records = this.pending;
+            records.flip();
+            this.pending = this.spare;
+            this.pending.clear();
+        }
+
+        try {
+            if (snapshot != null) this.writeSnapshot(snapshot);
+            if (this.channel == null) return;
+
+            while (records.hasRemaining()) this.channel.write(records);
+            this.channel.force(false);
+        } catch (IOException e) {
+            // Autosave is best effort, the next turn tries again with a fresh snapshot.
+            this.closeChannel();
+
+            synchronized (this) {
+                this.moves = COMPACT_AFTER;
+            }
+        } finally {
+            synchronized (this) {
+                this.spare = records;
+            }
+        }
+    }
+
+    /**
+     * Atomically replaces the snapshot, then restarts the journal with a header that points at it.
+     */
+    private void writeSnapshot(SaveFile snapshot) throws IOException {
+        var data = BinarySaveFile.write(snapshot);
+        var checksum = data.getInt(data.limit() - 4);
+
+        SaveFile.replace(this.snapshotPath, data);
+
+        this.closeChannel();
+        this.channel = FileChannel.open(this.journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        var header = ByteBuffer.allocate(HEADER).putInt(MAGIC).putInt(checksum);
+        header.flip();
+
+        while (header.hasRemaining()) this.channel.write(header);
+        this.channel.force(true);
+    }
+
+    private void closeChannel() {
+        if (this.channel == null) return;
+
+        try {
+            this.channel.close();
+        } catch (IOException ignored) {
+        }
+
+        this.channel = null;
+    }
+
+    /**
+     * Commits what's left and stops the writer.
+     */
+    @Override
+    public void close() {
+        this.writer.shutdown();
+
+        try {
+            this.writer.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this.io) {
+            this.write();
+            this.closeChannel();
+        }
+    }
+
+    /**
+     * @return The CRC32 trailer of a binary save.
+     */
+    private static int readChecksum(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var trailer = ByteBuffer.allocate(4);
+            channel.read(trailer, channel.size() - 4);
+
+            return trailer.getInt(0);
+        }
+    }
+
+    private static byte check(byte type, int index) {
+        return (byte) (type ^ index ^ (index >>> 8) ^ (index >>> 16) ^ (index >>> 24) ^ 0x5A);
+    }
+}
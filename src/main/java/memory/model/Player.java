@@ -5,11 +5,13 @@ import javafx.beans.property.StringProperty;
 import memory.util.Observable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class Player extends Observable<Player> {
     private StringProperty name;
-    private List<Badge> badges = new ArrayList<>();
+    private final List<Badge> badges = new ArrayList<>();
+    private final List<Badge> view = Collections.unmodifiableList(this.badges);
 
     public Player(String name) {
         this.name = new SimpleStringProperty(name);
@@ -24,8 +26,19 @@ public class Player extends Observable<Player> {
         this.update(this);
     }
 
+    /**
+     * @return A read-only view of the badges, which changes along with the player.
+     */
     public List<Badge> getBadges() {
-        return List.copyOf(this.badges);
+        return this.view;
+    }
+
+    public int getBadgeCount() {
+        return this.badges.size();
+    }
+
+    public Badge getBadge(int index) {
+        return this.badges.get(index);
     }
 
     public void addBadge(Badge badge) {
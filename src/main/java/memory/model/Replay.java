@@ -0,0 +1,165 @@
+package memory.model;
+
+import java.util.Arrays;
+
+/**
+ * Reconstructs any state of a seeded game by applying its moves straight to a headless {@link Game}.
+ * The moves are played through once up front, which validates them and keeps a checkpoint every
+ * {@link #CHECKPOINT_TURNS} turns, so seeking only replays the moves since the closest checkpoint.
+ */
+public class Replay {
+    public static final int CHECKPOINT_TURNS = 32;
+
+    private static final int CHECKPOINT_MOVES = CHECKPOINT_TURNS * 2;
+
+    private final int rows;
+    private final int columns;
+    private final long seed;
+    private final int[] moves;
+    private final SaveFile[] checkpoints;
+    private final Game game;
+    private int position = 0;
+
+    /**
+     * @param rows    The rows of the board.
+     * @param columns The columns of the board.
+     * @param seed    The seed the game was started from.
+     * @param moves   The selected cells, two per turn.
+     * @throws IllegalArgumentException if a move couldn't have been made.
+     */
+    public Replay(int rows, int columns, long seed, int[] moves) {
+        this.rows = rows;
+        this.columns = columns;
+        this.seed = seed;
+        this.moves = moves.clone();
+        this.checkpoints = new SaveFile[this.moves.length / CHECKPOINT_MOVES + 1];
+        this.game = new Game(rows, columns);
+
+        this.game.start(seed);
+        this.checkpoints[0] = SaveFile.of(this.game, false);
+
+        while (this.position < this.moves.length) {
+            this.apply(this.position);
+
+            if (this.position % CHECKPOINT_MOVES == 0) this.checkpoints[this.position / CHECKPOINT_MOVES] = SaveFile.of(this.game, false);
+        }
+    }
+
+    /**
+     * Creates the replay of a save that holds its seed and moves.
+     *
+     * @param save The save to replay.
+     * @throws IllegalArgumentException if the save has no seed or its moves couldn't have been made.
+     */
+    public static Replay of(SaveFile save) {
+        if (save.getSeed() == null) throw new IllegalArgumentException("The save doesn't hold the seed it was started from.");
+
+        return new Replay(save.getRows(), save.getColumns(), save.getSeed(), save.getMoves());
+    }
+
+    /**
+     * Creates the replay of everything that happened in a game so far.
+     *
+     * @param game The game to replay.
+     * @throws IllegalArgumentException if the game wasn't started from a seed.
+     */
+    public static Replay of(Game game) {
+        return of(SaveFile.of(game));
+    }
+
+    /**
+     * Moves to the state after the given amount of moves, starting from the closest checkpoint or the current state.
+     *
+     * @param position The amount of moves to apply, between 0 and {@link #size()}.
+     * @return The game in that state, which is reused by the next seek.
+     */
+    public Game seek(int position) {
+        if (position < 0 || position > this.moves.length) throw new IndexOutOfBoundsException("Move " + position + " is outside of 0 to " + this.moves.length + ".");
+
+        var checkpoint = position / CHECKPOINT_MOVES;
+
+        if (position < this.position || checkpoint * CHECKPOINT_MOVES > this.position) {
+            this.game.load(this.checkpoints[checkpoint]);
+            this.position = checkpoint * CHECKPOINT_MOVES;
+        }
+
+        while (this.position < position) this.apply(this.position);
+
+        return this.game;
+    }
+
+    /**
+     * Checks that replaying all moves ends in exactly the state the save holds.
+     *
+     * @param save The save to audit.
+     * @return true if the grid, badges and current player all match.
+     */
+    public boolean matches(SaveFile save) {
+        var replayed = SaveFile.of(this.seek(this.moves.length), false);
+
+        if (replayed.getRows() != save.getRows() || replayed.getColumns() != save.getColumns()) return false;
+        if (!Arrays.equals(replayed.getGrid(), save.getGrid())) return false;
+        if (replayed.getCurrentPlayer() != save.getCurrentPlayer()) return false;
+
+        for (int player = 0; player < 2; player++) {
+            if (!Arrays.equals(replayed.getBadges(player), save.getBadges(player))) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Selects the card of the given move and resolves the turn once it's the second card.
+     */
+    private void apply(int move) {
+        var index = this.moves[move];
+        var board = this.game.getBoard();
+
+        if (index < 0 || index >= board.size()) throw invalid(move, "selects cell " + index + ", which isn't on the board");
+        if (board.isRemoved(index)) throw invalid(move, "selects cell " + index + ", which was already matched");
+        if (this.game.getSelectedCount() == 1 && this.game.getSelectedCard(0) == index) throw invalid(move, "selects cell " + index + " twice");
+        if (this.game.getSelectedCount() == 0 && this.game.checkForGameEnd()) throw invalid(move, "comes after the game ended");
+
+        this.game.addSelectedCard(index);
+        if (this.game.getSelectedCount() == 2) this.game.calculatePair();
+
+        this.position = move + 1;
+    }
+
+    private static IllegalArgumentException invalid(int move, String reason) {
+        return new IllegalArgumentException(String.format("Move %s %s.", move, reason));
+    }
+
+    public int getRows() {
+        return this.rows;
+    }
+
+    public int getColumns() {
+        return this.columns;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * @return The amount of moves in the replay.
+     */
+    public int size() {
+        return this.moves.length;
+    }
+
+    /**
+     * @return The amount of moves applied to the game right now.
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * @return The game in the state of the last seek.
+     */
+    public Game getGame() {
+        return this.game;
+    }
+}
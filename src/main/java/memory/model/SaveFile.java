@@ -0,0 +1,299 @@
+package memory.model;
+
+import memory.jfr.SaveFileEvent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The complete state of a game as it's stored in a save.
+ * Text .mem files hold the grid, players and current player, binary .memb files also hold the seed and moves.
+ */
+public class SaveFile {
+    /**
+     * The size in bytes from which a save is mapped instead of read.
+     */
+    static final long MAP_THRESHOLD = 1 << 20;
+
+    private final int rows;
+    private final int columns;
+    private final int[] grid;
+    private final String[] names;
+    private final int[][] badges;
+    private final int currentPlayer;
+    private final Long seed;
+    private final int[] moves;
+
+    public SaveFile(int rows, int columns, int[] grid, String[] names, int[][] badges, int currentPlayer) {
+        this(rows, columns, grid, names, badges, currentPlayer, null, new int[0]);
+    }
+
+    public SaveFile(int rows, int columns, int[] grid, String[] names, int[][] badges, int currentPlayer, Long seed, int[] moves) {
+        this.rows = rows;
+        this.columns = columns;
+        this.grid = grid;
+        this.names = names;
+        this.badges = badges;
+        this.currentPlayer = currentPlayer;
+        this.seed = seed;
+        this.moves = moves;
+    }
+
+    /**
+     * Captures the current state of the given game.
+     *
+     * @param game The game to capture.
+     */
+    public static SaveFile of(Game game) {
+        return of(game, true);
+    }
+
+    /**
+     * Captures the current state of the given game.
+     *
+     * @param game    The game to capture.
+     * @param history Whether to include the seed and moves that led up to the state.
+     */
+    static SaveFile of(Game game, boolean history) {
+        var board = game.getBoard();
+        var players = new Player[]{game.getplayerOne(), game.getplayerTwo()};
+        var names = new String[2];
+        var badges = new int[2][];
+
+        for (int i = 0; i < 2; i++) {
+            names[i] = players[i].getName().getValue();
+            badges[i] = new int[players[i].getBadgeCount()];
+            for (int j = 0; j < badges[i].length; j++) badges[i][j] = players[i].getBadge(j).getId();
+        }
+
+        var current = (game.getCurrentPlayer() == game.getplayerOne()) ? 0 : 1;
+
+        if (!history) return new SaveFile(board.getRows(), board.getColumns(), board.toArray(), names, badges, current);
+
+        return new SaveFile(board.getRows(), board.getColumns(), board.toArray(), names, badges, current, game.getSeed(), game.getMoves());
+    }
+
+    /**
+     * Reads a text or binary save. Saves are read into the heap, only boards larger than {@link #MAP_THRESHOLD} are
+     * mapped into memory. A mapping lives until its buffer is collected, and on Windows a mapped file can't be replaced,
+     * which would make the next autosave of a save that was just read fail.
+     *
+     * @param path The save file.
+     */
+    public static SaveFile read(Path path) throws IOException, SaveFileException {
+        var event = new SaveFileEvent("read", path.toString());
+        event.begin();
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            ByteBuffer buffer;
+
+            if (size > MAP_THRESHOLD) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                buffer = ByteBuffer.allocate((int) size);
+
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) == -1) break;
+                }
+
+                buffer.flip();
+            }
+
+            event.size = size;
+            event.binary = BinarySaveFile.matches(buffer);
+
+            return read(buffer);
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Reads text or binary save data from the given buffer.
+     *
+     * @param buffer The save data.
+     */
+    public static SaveFile read(ByteBuffer buffer) throws SaveFileException {
+        if (BinarySaveFile.matches(buffer)) return BinarySaveFile.read(buffer);
+
+        return new SaveFileReader(buffer).read();
+    }
+
+    /**
+     * Writes the state to a file, in the binary format if the file ends with .memb.
+     * The file is replaced atomically, a failed write leaves the previous file as it was.
+     *
+     * @param path The file the data gets written to.
+     */
+    public void write(Path path) throws IOException {
+        var event = new SaveFileEvent("write", path.toString());
+        event.binary = isBinary(path);
+        event.begin();
+
+        try {
+            var data = this.encode(path);
+            event.size = data.remaining();
+
+            replace(path, data);
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Encodes the state in the format the file's extension asks for.
+     *
+     * @param path The file the data is meant for.
+     */
+    public ByteBuffer encode(Path path) throws IOException {
+        if (isBinary(path)) return BinarySaveFile.write(this);
+
+        var writer = new StringWriter(this.grid.length * 3 + 64);
+        this.write(writer);
+
+        return StandardCharsets.UTF_8.encode(writer.toString());
+    }
+
+    /**
+     * Replaces a file without ever leaving a partial one behind.
+     * The data goes to a temporary file next to the target, is forced to disk and then moved over the target.
+     *
+     * @param target The file to replace.
+     * @param data   The new contents.
+     */
+    public static void replace(Path target, ByteBuffer data) throws IOException {
+        var temporary = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (data.hasRemaining()) channel.write(data);
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+
+        forceDirectory(target.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Makes the rename itself durable, where the platform allows directories to be forced.
+     */
+    private static void forceDirectory(Path directory) {
+        if (directory == null) return;
+
+        try (var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // Not supported on every platform, the data itself is already on disk.
+        }
+    }
+
+    private static boolean isBinary(Path path) {
+        return path.getFileName().toString().endsWith(BinarySaveFile.EXTENSION);
+    }
+
+    /**
+     * Writes the state as .mem data.
+     *
+     * @param writer The writer the data gets written to.
+     */
+    public void write(Writer writer) throws IOException {
+        var bw = new BufferedWriter(writer);
+
+        for (int i = 0; i < this.grid.length; i++) {
+            bw.write(Integer.toString(this.grid[i]));
+            bw.write(' ');
+            if ((i + 1) % this.columns == 0) bw.newLine();
+        }
+
+        for (int player = 0; player < 2; player++) {
+            bw.write(this.names[player]);
+            bw.newLine();
+
+            for (int id : this.badges[player]) {
+                bw.write(Integer.toString(id));
+                bw.write(' ');
+            }
+
+            bw.newLine();
+        }
+
+        bw.write(String.valueOf(this.currentPlayer));
+        bw.newLine();
+        bw.flush();
+    }
+
+    /**
+     * Creates a board holding the grid.
+     */
+    public Board toBoard() {
+        var board = new Board(this.rows, this.columns);
+        board.load(this.grid);
+
+        return board;
+    }
+
+    /**
+     * Creates the player with the given number.
+     *
+     * @param player 0 for the first player, 1 for the second.
+     */
+    public Player toPlayer(int player) {
+        var result = new Player(this.names[player]);
+
+        for (int id : this.badges[player]) result.addBadge(Badge.of(id));
+
+        return result;
+    }
+
+    public int getRows() {
+        return this.rows;
+    }
+
+    public int getColumns() {
+        return this.columns;
+    }
+
+    public int[] getGrid() {
+        return this.grid;
+    }
+
+    public String getName(int player) {
+        return this.names[player];
+    }
+
+    public int[] getBadges(int player) {
+        return this.badges[player];
+    }
+
+    public int getCurrentPlayer() {
+        return this.currentPlayer;
+    }
+
+    public Long getSeed() {
+        return this.seed;
+    }
+
+    public int[] getMoves() {
+        return this.moves;
+    }
+}
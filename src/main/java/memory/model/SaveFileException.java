@@ -0,0 +1,47 @@
+package memory.model;
+
+/**
+ * Thrown when a save file can't be read, pointing at the place it went wrong.
+ * Text saves report a line and column, binary saves a byte offset.
+ */
+public class SaveFileException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final int line;
+    private final int column;
+    private final long offset;
+
+    public SaveFileException(String message, int line, int column) {
+        super(String.format("Line %s, column %s: %s", line, column, message));
+
+        this.line = line;
+        this.column = column;
+        this.offset = -1;
+    }
+
+    /**
+     * Creates an exception for a binary save, which has no lines.
+     *
+     * @param message The problem.
+     * @param offset  The byte the problem was found at.
+     */
+    public SaveFileException(String message, long offset) {
+        super(String.format("Byte %s: %s", offset, message));
+
+        this.line = -1;
+        this.column = -1;
+        this.offset = offset;
+    }
+
+    public int getLine() {
+        return this.line;
+    }
+
+    public int getColumn() {
+        return this.column;
+    }
+
+    public long getOffset() {
+        return this.offset;
+    }
+}
@@ -0,0 +1,207 @@
+package memory.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads a .mem save in a single pass over its bytes.
+ */
+class SaveFileReader {
+    private final ByteBuffer buffer;
+    private int line = 1;
+    private int lineStart;
+
+    SaveFileReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.lineStart = buffer.position();
+    }
+
+    /**
+     * Reads the complete save.
+     */
+    SaveFile read() throws SaveFileException {
+        var gridLine = this.line;
+        var grid = new int[64];
+        var cells = 0;
+        var columns = 0;
+        var rows = 0;
+
+        // The grid is every leading line that starts with a number.
+        while (true) {
+            var start = this.buffer.position();
+            var count = 0;
+
+            while (this.skipSpaces() && this.isNumber()) {
+                if (cells + count == grid.length) grid = Arrays.copyOf(grid, grid.length * 2);
+                grid[cells + count++] = this.readInt();
+            }
+
+            if (count == 0) {
+                this.buffer.position(start);
+                break;
+            }
+
+            if (!this.atLineEnd()) throw this.error("Expected a card id.");
+
+            if (rows == 0) columns = count;
+            if (count != columns) throw this.error(String.format("Expected %s card ids but found %s.", columns, count));
+
+            cells += count;
+            rows++;
+            this.nextLine();
+        }
+
+        if (rows == 0) throw this.error("Expected a row of card ids.");
+
+        var gridColumns = columns;
+        SaveFileValidator.checkBoard(rows, columns, (message, cell) -> new SaveFileException(message, gridLine, 1));
+
+        grid = Arrays.copyOf(grid, cells);
+        SaveFileValidator.checkGrid(grid, (message, cell) -> new SaveFileException(message, gridLine + cell / gridColumns, cell % gridColumns + 1));
+
+        var pairs = cells / 2;
+        var names = new String[2];
+        var badges = new int[2][];
+        var badgeLines = new int[2];
+
+        for (int player = 0; player < 2; player++) {
+            names[player] = this.readLine();
+            badgeLines[player] = this.line;
+            badges[player] = this.readBadges(pairs);
+        }
+
+        SaveFileValidator.checkBadges(grid, badges, (message, player) -> new SaveFileException(message, badgeLines[player], 1));
+
+        this.skipSpaces();
+        if (!this.isNumber()) throw this.error("Expected the current player.");
+
+        var line = this.line;
+        var column = this.column();
+        var current = this.readInt();
+
+        SaveFileValidator.checkCurrentPlayer(current, (message, index) -> new SaveFileException(message, line, column));
+
+        return new SaveFile(rows, columns, grid, names, badges, current);
+    }
+
+    private int[] readBadges(int pairs) throws SaveFileException {
+        var badges = new int[8];
+        var count = 0;
+
+        if (!this.hasMore()) throw this.error("Unexpected end of file.");
+
+        while (this.skipSpaces() && !this.atLineEnd()) {
+            if (!this.isNumber()) throw this.error("Expected a badge id.");
+
+            var line = this.line;
+            var column = this.column();
+            var id = this.readInt();
+
+            SaveFileValidator.checkBadge(id, pairs, (message, index) -> new SaveFileException(message, line, column));
+
+            if (count == badges.length) badges = Arrays.copyOf(badges, count * 2);
+            badges[count++] = id;
+        }
+
+        this.nextLine();
+
+        return Arrays.copyOf(badges, count);
+    }
+
+    private String readLine() throws SaveFileException {
+        if (!this.hasMore()) throw this.error("Unexpected end of file.");
+
+        var start = this.buffer.position();
+        var end = start;
+
+        while (end < this.buffer.limit() && this.buffer.get(end) != '\n') end++;
+
+        var length = (end > start && this.buffer.get(end - 1) == '\r') ? end - start - 1 : end - start;
+        var bytes = new byte[length];
+
+        this.buffer.get(bytes);
+        this.buffer.position(end);
+        this.nextLine();
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readInt() throws SaveFileException {
+        var column = this.column();
+        var negative = this.buffer.get(this.buffer.position()) == '-';
+        var value = 0L;
+
+        if (negative) this.buffer.get();
+
+        while (this.hasMore() && isDigit(this.peek())) {
+            value = value * 10 + (this.buffer.get() - '0');
+
+            if (value > Integer.MAX_VALUE) throw new SaveFileException("Number is too large.", this.line, column);
+        }
+
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Skips spaces and tabs.
+     *
+     * @return true if there's anything left on the line.
+     */
+    private boolean skipSpaces() {
+        while (this.hasMore() && (this.peek() == ' ' || this.peek() == '\t')) this.buffer.get();
+
+        return !this.atLineEnd();
+    }
+
+    private void nextLine() {
+        while (this.hasMore()) {
+            if (this.buffer.get() == '\n') break;
+        }
+
+        this.line++;
+        this.lineStart = this.buffer.position();
+    }
+
+    /**
+     * @return true if the next token is a whole number, ending at a space or the end of the line.
+     */
+    private boolean isNumber() {
+        var i = this.buffer.position();
+
+        if (i < this.buffer.limit() && this.buffer.get(i) == '-') i++;
+
+        var digits = i;
+        while (i < this.buffer.limit() && isDigit(this.buffer.get(i))) i++;
+
+        if (i == digits) return false;
+        if (i == this.buffer.limit()) return true;
+
+        var next = this.buffer.get(i);
+        return next == ' ' || next == '\t' || next == '\r' || next == '\n';
+    }
+
+    private boolean atLineEnd() {
+        return !this.hasMore() || this.peek() == '\n' || this.peek() == '\r';
+    }
+
+    private boolean hasMore() {
+        return this.buffer.hasRemaining();
+    }
+
+    private byte peek() {
+        return this.buffer.get(this.buffer.position());
+    }
+
+    private int column() {
+        return this.buffer.position() - this.lineStart + 1;
+    }
+
+    private SaveFileException error(String message) {
+        return new SaveFileException(message, this.line, this.column());
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,94 @@
+package memory.model;
+
+/**
+ * The checks a save has to pass in any format, so a text and a binary save of the same game are valid or invalid alike.
+ * The formats point at problems differently, so every check hands its message to a {@link Locator} that turns it into
+ * an exception at the right line or byte.
+ */
+final class SaveFileValidator {
+    /**
+     * Creates the exception for a problem found by a check.
+     */
+    interface Locator {
+        /**
+         * @param message The problem.
+         * @param index   What the problem is about, the cell for grid checks and the player for badge checks.
+         */
+        SaveFileException at(String message, int index);
+    }
+
+    private SaveFileValidator() {
+    }
+
+    /**
+     * Checks that the board has room for at least one pair and only whole pairs.
+     */
+    static void checkBoard(int rows, int columns, Locator locator) throws SaveFileException {
+        if (rows < 1 || columns < 1 || (long) rows * columns > Integer.MAX_VALUE || (rows * columns) % 2 != 0) {
+            throw locator.at(String.format("%sx%s isn't a valid board, it needs an even number of cards.", rows, columns), 0);
+        }
+    }
+
+    /**
+     * Checks that every id is in range and every pair that's left has both of its cards.
+     */
+    static void checkGrid(int[] grid, Locator locator) throws SaveFileException {
+        var pairs = grid.length / 2;
+        var counts = new int[pairs + 1];
+
+        for (int i = 0; i < grid.length; i++) {
+            var id = grid[i];
+
+            if (id > pairs || id < Board.REMOVED) throw locator.at(String.format("Card id %s is out of range.", id), i);
+            if (id != Board.REMOVED) counts[id]++;
+        }
+
+        for (int id = 1; id <= pairs; id++) {
+            if (counts[id] != 0 && counts[id] != 2) {
+                throw locator.at(String.format("Pair %s has %s cards instead of 2.", id, counts[id]), firstCell(grid, id));
+            }
+        }
+    }
+
+    /**
+     * Checks that a badge could belong to a pair of the board.
+     */
+    static void checkBadge(int id, int pairs, Locator locator) throws SaveFileException {
+        if (id > pairs || id < Board.REMOVED) throw locator.at(String.format("Badge id %s is out of range.", id), 0);
+    }
+
+    /**
+     * Checks that every badge belongs to a pair that was taken off the board, and that no pair was awarded twice.
+     */
+    static void checkBadges(int[] grid, int[][] badges, Locator locator) throws SaveFileException {
+        var awarded = new boolean[grid.length / 2 + 1];
+
+        for (int id : grid) {
+            if (id > 0) awarded[id] = true;
+        }
+
+        for (int player = 0; player < badges.length; player++) {
+            for (int id : badges[player]) {
+                if (id <= 0) continue;
+
+                if (awarded[id]) {
+                    throw locator.at(String.format("Badge %s is for a pair that's still on the board or was already awarded.", id), player);
+                }
+
+                awarded[id] = true;
+            }
+        }
+    }
+
+    static void checkCurrentPlayer(int current, Locator locator) throws SaveFileException {
+        if (current != 0 && current != 1) throw locator.at(String.format("The current player should be 0 or 1, not %s.", current), 0);
+    }
+
+    private static int firstCell(int[] grid, int id) {
+        for (int i = 0; i < grid.length; i++) {
+            if (grid[i] == id) return i;
+        }
+
+        return 0;
+    }
+}
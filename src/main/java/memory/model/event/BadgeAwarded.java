@@ -0,0 +1,30 @@
+package memory.model.event;
+
+import memory.model.Badge;
+import memory.model.Player;
+
+/**
+ * A player earned a badge for a pair.
+ */
+public final class BadgeAwarded implements GameEvent {
+    private final Player player;
+    private final Badge badge;
+
+    public BadgeAwarded(Player player, Badge badge) {
+        this.player = player;
+        this.badge = badge;
+    }
+
+    public Player getPlayer() {
+        return this.player;
+    }
+
+    public Badge getBadge() {
+        return this.badge;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BadgeAwarded[player=%s, badge=%s]", this.player.getName().getValue(), this.badge.getId());
+    }
+}
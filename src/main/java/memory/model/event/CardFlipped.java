@@ -0,0 +1,27 @@
+package memory.model.event;
+
+/**
+ * A card was turned face up and selected.
+ */
+public final class CardFlipped implements GameEvent {
+    private final int index;
+    private final int id;
+
+    public CardFlipped(int index, int id) {
+        this.index = index;
+        this.id = id;
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CardFlipped[index=%s, id=%s]", this.index, this.id);
+    }
+}
@@ -0,0 +1,24 @@
+package memory.model.event;
+
+/**
+ * The last pair was found, or a cheat mode limit was reached.
+ */
+public final class GameEnded implements GameEvent {
+    private final String winner;
+
+    public GameEnded(String winner) {
+        this.winner = winner;
+    }
+
+    /**
+     * @return The name of the winner, or "No one" for a draw.
+     */
+    public String getWinner() {
+        return this.winner;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameEnded[winner=%s]", this.winner);
+    }
+}
@@ -0,0 +1,7 @@
+package memory.model.event;
+
+/**
+ * Something that happened in a game.
+ */
+public interface GameEvent {
+}
@@ -0,0 +1,11 @@
+package memory.model.event;
+
+/**
+ * A new board was dealt or loaded, together with its players.
+ */
+public final class GameStarted implements GameEvent {
+    @Override
+    public String toString() {
+        return "GameStarted";
+    }
+}
@@ -0,0 +1,41 @@
+package memory.model.event;
+
+import memory.model.Player;
+
+/**
+ * Both selected cards formed a pair and were removed from the board.
+ */
+public final class PairMatched implements GameEvent {
+    private final int id;
+    private final int first;
+    private final int second;
+    private final Player player;
+
+    public PairMatched(int id, int first, int second, Player player) {
+        this.id = id;
+        this.first = first;
+        this.second = second;
+        this.player = player;
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    public int getFirst() {
+        return this.first;
+    }
+
+    public int getSecond() {
+        return this.second;
+    }
+
+    public Player getPlayer() {
+        return this.player;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PairMatched[id=%s, first=%s, second=%s, player=%s]", this.id, this.first, this.second, this.player.getName().getValue());
+    }
+}
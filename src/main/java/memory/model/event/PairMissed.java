@@ -0,0 +1,27 @@
+package memory.model.event;
+
+/**
+ * The selected cards didn't form a pair and were turned face down again.
+ */
+public final class PairMissed implements GameEvent {
+    private final int first;
+    private final int second;
+
+    public PairMissed(int first, int second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    public int getFirst() {
+        return this.first;
+    }
+
+    public int getSecond() {
+        return this.second;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PairMissed[first=%s, second=%s]", this.first, this.second);
+    }
+}
@@ -0,0 +1,23 @@
+package memory.model.event;
+
+import memory.model.Player;
+
+/**
+ * A turn was resolved and the given player is up next.
+ */
+public final class TurnPassed implements GameEvent {
+    private final Player player;
+
+    public TurnPassed(Player player) {
+        this.player = player;
+    }
+
+    public Player getPlayer() {
+        return this.player;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TurnPassed[player=%s]", this.player.getName().getValue());
+    }
+}
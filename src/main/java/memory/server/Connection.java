@@ -0,0 +1,145 @@
+package memory.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One client of the server, read by its own thread.
+ */
+class Connection implements Closeable {
+    private final GameServer server;
+    private final Socket socket;
+    private final BufferedReader in;
+    private final BufferedWriter out;
+
+    // Only changed by the lobby and the session this connection plays in.
+    private volatile Session session;
+    private volatile int player;
+    private String name = "Player";
+
+    Connection(GameServer server, Socket socket) throws IOException {
+        this.server = server;
+        this.socket = socket;
+        this.socket.setTcpNoDelay(true);
+        this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Handles messages until the client quits or disconnects.
+     */
+    void run() {
+        try {
+            String line;
+
+            while ((line = this.in.readLine()) != null) {
+                if (!this.handle(line)) break;
+            }
+        } catch (IOException ignored) {
+            // The client went away, same as quitting.
+        } finally {
+            this.server.disconnected(this);
+            this.close();
+        }
+    }
+
+    /**
+     * @return false once the client has quit.
+     */
+    private boolean handle(String line) {
+        var parts = line.split(" ", 2);
+
+        switch (parts[0]) {
+            case Protocol.PLAY:
+                if (this.session != null) {
+                    this.send(Protocol.ERROR + " Already playing", true);
+                } else {
+                    if (parts.length > 1 && !parts[1].isBlank()) this.name = parts[1].strip();
+                    this.server.matchmake(this);
+                }
+                return true;
+            case Protocol.FLIP:
+                var session = this.session;
+
+                if (session == null) {
+                    this.send(Protocol.ERROR + " Not playing", true);
+                    return true;
+                }
+
+                try {
+                    session.flip(this, Integer.parseInt(parts[1].strip()));
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    this.send(Protocol.ERROR + " Expected a cell index", true);
+                }
+                return true;
+            case Protocol.QUIT:
+                this.send(Protocol.BYE, true);
+                return false;
+            default:
+                this.send(Protocol.ERROR + " Unknown message " + parts[0], true);
+                return true;
+        }
+    }
+
+    /**
+     * Sends a line, optionally without flushing so a session can send all lines of a move at once.
+     *
+     * @param line  The message.
+     * @param flush true to send it right away.
+     */
+    void send(String line, boolean flush) {
+        synchronized (this.out) {
+            try {
+                this.out.write(line);
+                this.out.write('\n');
+                if (flush) this.out.flush();
+            } catch (IOException ignored) {
+                // The reading thread notices the broken connection.
+            }
+        }
+    }
+
+    void flush() {
+        synchronized (this.out) {
+            try {
+                this.out.flush();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    Session getSession() {
+        return this.session;
+    }
+
+    int getPlayer() {
+        return this.player;
+    }
+
+    String getName() {
+        return this.name;
+    }
+
+    void join(Session session, int player) {
+        this.session = session;
+        this.player = player;
+    }
+
+    void leave() {
+        this.session = null;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
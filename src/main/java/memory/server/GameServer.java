@@ -0,0 +1,135 @@
+package memory.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hosts games between clients that connect over loopback TCP, see {@link Protocol}.
+ * Every connection gets its own thread, players are paired in the order they ask to play.
+ * <p>
+ * Usage: GameServer [port] [rows] [columns]
+ */
+public class GameServer implements Closeable {
+    private final int rows;
+    private final int columns;
+    private final ServerSocket socket;
+    private final ExecutorService connections = Threads.perConnection("connection");
+    private final AtomicLong sessionIds = new AtomicLong();
+    private final AtomicInteger sessions = new AtomicInteger();
+    private final LongAdder moves = new LongAdder();
+    private final SplittableRandom random = new SplittableRandom();
+
+    // Guarded by this.
+    private Connection waiting;
+
+    public GameServer(int port, int rows, int columns) throws IOException {
+        this.rows = rows;
+        this.columns = columns;
+        this.socket = new ServerSocket();
+        this.socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+    }
+
+    public static void main(String[] args) throws IOException {
+        var port = (args.length > 0) ? Integer.parseInt(args[0]) : Protocol.PORT;
+        var rows = (args.length > 1) ? Integer.parseInt(args[1]) : 6;
+        var columns = (args.length > 2) ? Integer.parseInt(args[2]) : 6;
+
+        var server = new GameServer(port, rows, columns);
+
+        System.out.printf("Serving %sx%s games on port %s with %s threads%n", rows, columns, server.getPort(), Threads.isVirtual() ? "virtual" : "platform");
+        server.serve();
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     */
+    public void serve() throws IOException {
+        while (!this.socket.isClosed()) {
+            try {
+                var connection = new Connection(this, this.socket.accept());
+                this.connections.execute(connection::run);
+            } catch (SocketException e) {
+                if (this.socket.isClosed()) return;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Starts a session as soon as there are two players, otherwise lets the player wait.
+     */
+    void matchmake(Connection connection) {
+        Connection opponent;
+
+        synchronized (this) {
+            if (this.waiting == null || this.waiting == connection) {
+                this.waiting = connection;
+                connection.send(Protocol.WAIT, true);
+                return;
+            }
+
+            opponent = this.waiting;
+            this.waiting = null;
+        }
+
+        // Split under the lock, SplittableRandom isn't thread safe.
+        SplittableRandom random;
+        synchronized (this.random) {
+            random = this.random.split();
+        }
+
+        var session = new Session(this.sessionIds.incrementAndGet(), this, opponent, connection, this.rows, this.columns, random);
+        this.sessions.incrementAndGet();
+        session.start();
+    }
+
+    void disconnected(Connection connection) {
+        synchronized (this) {
+            if (this.waiting == connection) this.waiting = null;
+        }
+
+        var session = connection.getSession();
+        if (session != null) session.leave(connection);
+    }
+
+    void moved() {
+        this.moves.increment();
+    }
+
+    void ended(Session session) {
+        this.sessions.decrementAndGet();
+    }
+
+    public int getPort() {
+        return this.socket.getLocalPort();
+    }
+
+    /**
+     * @return The amount of games being played right now.
+     */
+    public int getSessions() {
+        return this.sessions.get();
+    }
+
+    /**
+     * @return The amount of cards turned since the server started.
+     */
+    public long getMoves() {
+        return this.moves.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.socket.close();
+        this.connections.shutdownNow();
+    }
+}
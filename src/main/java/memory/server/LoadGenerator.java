@@ -0,0 +1,213 @@
+package memory.server;
+
+import memory.util.Histogram;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.Future;
+
+/**
+ * Plays many games against a {@link GameServer} over loopback and reports its throughput and move latency.
+ * Every client turns random cards that are still on the board, latency is measured from sending FLIP until its FLIPPED arrives.
+ * <p>
+ * Usage: LoadGenerator [clients] [games per client] [port] [seed]
+ * Without a running server on the port, one is started in this process.
+ */
+public class LoadGenerator {
+    public static void main(String[] args) throws Exception {
+        var clients = (args.length > 0) ? Integer.parseInt(args[0]) : 1000;
+        var games = (args.length > 1) ? Integer.parseInt(args[1]) : 2;
+        var port = (args.length > 2) ? Integer.parseInt(args[2]) : Protocol.PORT;
+        var seed = (args.length > 3) ? Long.parseLong(args[3]) : System.nanoTime();
+
+        if (clients % 2 != 0) throw new IllegalArgumentException("Clients play in pairs, use an even amount.");
+
+        GameServer server = null;
+
+        try {
+            new Socket(InetAddress.getLoopbackAddress(), port).close();
+            System.out.printf("Using the server on port %s%n", port);
+        } catch (IOException e) {
+            server = new GameServer(port, 6, 6);
+            var local = server;
+            var thread = new Thread(() -> {
+                try {
+                    local.serve();
+                } catch (IOException ignored) {
+                }
+            }, "server");
+            thread.setDaemon(true);
+            thread.start();
+            System.out.printf("Started a server on port %s%n", port);
+        }
+
+        var executor = Threads.perConnection("client");
+        var random = new SplittableRandom(seed);
+        var futures = new ArrayList<Future<Client>>();
+
+        var start = System.nanoTime();
+
+        for (int i = 0; i < clients; i++) {
+            var client = new Client(port, games, random.split());
+            futures.add(executor.submit(client::call));
+        }
+
+        var latency = new Histogram();
+        var moves = 0L;
+        var played = 0L;
+        var failed = 0;
+
+        for (var future : futures) {
+            try {
+                var client = future.get();
+
+                latency.add(client.latency);
+                moves += client.moves;
+                played += client.played;
+            } catch (Exception e) {
+                failed++;
+            }
+        }
+
+        var seconds = (System.nanoTime() - start) / 1e9;
+
+        executor.shutdownNow();
+        if (server != null) server.close();
+
+        System.out.printf("%s clients in %s concurrent sessions on %s threads%n", clients, clients / 2, Threads.isVirtual() ? "virtual" : "platform");
+        System.out.printf("Games:          %s finished, %s clients failed%n", played / 2, failed);
+        System.out.printf("Moves:          %s in %.1f s, %.0f moves/s%n", moves, seconds, moves / seconds);
+        System.out.printf("Move latency:   p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                latency.getPercentile(50) / 1e6, latency.getPercentile(99) / 1e6, latency.getMax() / 1e6);
+    }
+
+    /**
+     * One player, on its own connection.
+     */
+    private static class Client {
+        private final int port;
+        private final int games;
+        private final SplittableRandom random;
+        private final Histogram latency = new Histogram();
+        private long moves = 0;
+        private long played = 0;
+
+        private BufferedWriter out;
+        private BitSet removed;
+        private int cells;
+        private int you;
+        private int first = -1;
+        private int pending = -1;
+        private long sent;
+
+        private Client(int port, int games, SplittableRandom random) {
+            this.port = port;
+            this.games = games;
+            this.random = random;
+        }
+
+        private Client call() throws IOException {
+            try (var socket = new Socket(InetAddress.getLoopbackAddress(), this.port)) {
+                socket.setTcpNoDelay(true);
+
+                var in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+                this.send(Protocol.PLAY + " bot");
+
+                String line;
+
+                while ((line = in.readLine()) != null) {
+                    if (!this.handle(line.split(" "))) break;
+                }
+            }
+
+            return this;
+        }
+
+        /**
+         * @return false once the client is done.
+         */
+        private boolean handle(String[] message) throws IOException {
+            switch (message[0]) {
+                case Protocol.START:
+                    this.cells = Integer.parseInt(message[2]) * Integer.parseInt(message[3]);
+                    this.removed = new BitSet(this.cells);
+                    this.you = Integer.parseInt(message[4]);
+                    this.first = -1;
+                    this.pending = -1;
+                    if (Integer.parseInt(message[5]) == this.you) this.flip();
+                    return true;
+                case Protocol.FLIPPED:
+                    var index = Integer.parseInt(message[1]);
+
+                    if (index != this.pending) return true;
+
+                    this.latency.record(System.nanoTime() - this.sent);
+                    this.pending = -1;
+                    this.moves++;
+
+                    // The second card of the turn gets turned as soon as the first one is confirmed.
+                    if (this.first == -1) {
+                        this.first = index;
+                        this.flip();
+                    }
+                    return true;
+                case Protocol.MATCH:
+                    this.removed.set(Integer.parseInt(message[2]));
+                    this.removed.set(Integer.parseInt(message[3]));
+                    return true;
+                case Protocol.TURN:
+                    this.first = -1;
+                    if (Integer.parseInt(message[1]) == this.you) this.flip();
+                    return true;
+                case Protocol.END:
+                case Protocol.LEFT:
+                    if (++this.played >= this.games) {
+                        this.send(Protocol.QUIT);
+                        return true;
+                    }
+
+                    this.send(Protocol.PLAY + " bot");
+                    return true;
+                case Protocol.BYE:
+                    return false;
+                case Protocol.ERROR:
+                    throw new IOException(String.join(" ", message));
+                default:
+                    return true;
+            }
+        }
+
+        /**
+         * Turns a random card that's still on the board and isn't turned already.
+         */
+        private void flip() throws IOException {
+            // The last pair is followed by one more TURN before END.
+            if (this.removed.cardinality() == this.cells) return;
+
+            var index = this.random.nextInt(this.cells);
+
+            while (this.removed.get(index) || index == this.first) index = (index + 1) % this.cells;
+
+            this.pending = index;
+            this.sent = System.nanoTime();
+            this.send(Protocol.FLIP + " " + index);
+        }
+
+        private void send(String line) throws IOException {
+            this.out.write(line);
+            this.out.write('\n');
+            this.out.flush();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package memory.server;
+
+/**
+ * The line based protocol between game clients and the {@link GameServer}.
+ * Every message is one line of space separated words, the first word names the message.
+ *
+ * <pre>
+ * client                         server
+ * PLAY name                      WAIT
+ *                                START session rows columns you current
+ * FLIP index                     FLIPPED index id                     to both players
+ *                                MATCH id first second | MISS first second
+ *                                TURN player
+ *                                END score score
+ *                                LEFT                                 the opponent disconnected
+ * QUIT                           BYE
+ *                                ERROR reason
+ * </pre>
+ * Players are numbered 0 and 1, cells are numbered row by row from 0.
+ */
+public class Protocol {
+    public static final int PORT = 7331;
+
+    public static final String PLAY = "PLAY";
+    public static final String FLIP = "FLIP";
+    public static final String QUIT = "QUIT";
+
+    public static final String WAIT = "WAIT";
+    public static final String START = "START";
+    public static final String FLIPPED = "FLIPPED";
+    public static final String MATCH = "MATCH";
+    public static final String MISS = "MISS";
+    public static final String TURN = "TURN";
+    public static final String END = "END";
+    public static final String LEFT = "LEFT";
+    public static final String BYE = "BYE";
+    public static final String ERROR = "ERROR";
+}
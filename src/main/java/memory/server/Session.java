@@ -0,0 +1,148 @@
+package memory.server;
+
+import memory.model.Game;
+import memory.model.event.CardFlipped;
+import memory.model.event.GameEnded;
+import memory.model.event.PairMatched;
+import memory.model.event.PairMissed;
+import memory.model.event.TurnPassed;
+
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A game between two connections.
+ * The game has a single writer: every action goes through the session's mailbox and runs one at a time,
+ * on whichever connection thread finds the mailbox idle.
+ */
+class Session {
+    private final long id;
+    private final GameServer server;
+    private final Game game;
+    private final Connection[] players;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private boolean ended = false;
+
+    Session(long id, GameServer server, Connection one, Connection two, int rows, int columns, SplittableRandom random) {
+        this.id = id;
+        this.server = server;
+        this.game = new Game(rows, columns);
+        this.players = new Connection[]{one, two};
+
+        this.game.start(random.nextLong());
+        this.game.getplayerOne().setName(one.getName());
+        this.game.getplayerTwo().setName(two.getName());
+
+        var events = this.game.getEvents();
+
+        events.on(CardFlipped.class, e -> this.broadcast(Protocol.FLIPPED + " " + e.getIndex() + " " + e.getId()));
+        events.on(PairMatched.class, e -> this.broadcast(Protocol.MATCH + " " + e.getId() + " " + e.getFirst() + " " + e.getSecond()));
+        events.on(PairMissed.class, e -> this.broadcast(Protocol.MISS + " " + e.getFirst() + " " + e.getSecond()));
+        events.on(TurnPassed.class, e -> this.broadcast(Protocol.TURN + " " + this.indexOf(e.getPlayer())));
+        events.on(GameEnded.class, e -> this.end());
+    }
+
+    /**
+     * Tells both players the game has started.
+     */
+    void start() {
+        for (int i = 0; i < 2; i++) this.players[i].join(this, i);
+
+        this.submit(() -> {
+            var board = this.game.getBoard();
+            var current = this.currentPlayer();
+
+            for (int i = 0; i < 2; i++) {
+                this.players[i].send(String.format("%s %s %s %s %s %s", Protocol.START, this.id, board.getRows(), board.getColumns(), i, current), false);
+            }
+        });
+    }
+
+    /**
+     * Turns a card for the given player, if it's a valid move.
+     *
+     * @param from  The player's connection.
+     * @param index The cell.
+     */
+    void flip(Connection from, int index) {
+        this.submit(() -> {
+            var board = this.game.getBoard();
+
+            if (this.ended) {
+                from.send(Protocol.ERROR + " The game has ended", false);
+            } else if (from.getPlayer() != this.currentPlayer()) {
+                from.send(Protocol.ERROR + " Not your turn", false);
+            } else if (index < 0 || index >= board.size() || board.isRemoved(index)) {
+                from.send(Protocol.ERROR + " No card at " + index, false);
+            } else if (this.game.getSelectedCount() == 1 && this.game.getSelectedCard(0) == index) {
+                from.send(Protocol.ERROR + " Already turned " + index, false);
+            } else {
+                this.game.addSelectedCard(index);
+                this.server.moved();
+
+                if (this.game.getSelectedCount() == 2) this.game.calculatePair();
+            }
+        });
+    }
+
+    /**
+     * Ends the game because a player disconnected.
+     *
+     * @param from The player that left.
+     */
+    void leave(Connection from) {
+        this.submit(() -> {
+            if (this.ended) return;
+
+            this.players[1 - from.getPlayer()].send(Protocol.LEFT, false);
+            this.close();
+        });
+    }
+
+    private void end() {
+        this.broadcast(String.format("%s %s %s", Protocol.END, this.game.getplayerOne().getBadgeCount(), this.game.getplayerTwo().getBadgeCount()));
+        this.close();
+    }
+
+    private void close() {
+        this.ended = true;
+
+        for (var player : this.players) player.leave();
+
+        this.server.ended(this);
+    }
+
+    private void broadcast(String line) {
+        for (var player : this.players) player.send(line, false);
+    }
+
+    private int currentPlayer() {
+        return this.indexOf(this.game.getCurrentPlayer());
+    }
+
+    private int indexOf(Object player) {
+        return (player == this.game.getplayerOne()) ? 0 : 1;
+    }
+
+    /**
+     * Runs the action after every action submitted before it, never at the same time as another one.
+     * Lines sent by an action are flushed once it's done.
+     */
+    private void submit(Runnable action) {
+        this.mailbox.add(action);
+
+        while (!this.mailbox.isEmpty() && this.draining.compareAndSet(false, true)) {
+            try {
+                Runnable next;
+
+                while ((next = this.mailbox.poll()) != null) next.run();
+            } finally {
+                for (var player : this.players) player.flush();
+                this.draining.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package memory.server;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the thread-per-connection executors of the server and the load generator.
+ * On a runtime with virtual threads every connection gets a virtual thread, otherwise a daemon platform thread with a small stack.
+ */
+class Threads {
+    private static final long STACK_SIZE = 256 * 1024;
+
+    /**
+     * @param name The prefix of the thread names.
+     */
+    static ExecutorService perConnection(String name) {
+        var virtual = virtual();
+        if (virtual != null) return virtual;
+
+        var counter = new AtomicInteger();
+
+        return Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(null, runnable, name + "-" + counter.incrementAndGet(), STACK_SIZE);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    static boolean isVirtual() {
+        var virtual = virtual();
+        if (virtual == null) return false;
+
+        virtual.shutdown();
+        return true;
+    }
+
+    /**
+     * Creates a virtual thread per task executor, looked up at runtime so the game itself still compiles for Java 11.
+     * Java 19 and 20 have the method but throw when preview features aren't enabled, which counts as not having it.
+     *
+     * @return The executor, or null if the runtime can't create virtual threads.
+     */
+    private static ExecutorService virtual() {
+        try {
+            var method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
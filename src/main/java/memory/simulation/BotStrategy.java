@@ -0,0 +1,251 @@
+package memory.simulation;
+
+import memory.model.Game;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+/**
+ * A computer player with a bounded, decaying memory, from forgetful to perfect recall.
+ * It remembers at most a fixed amount of cards and forgets the least recently seen one first.
+ * A card seen a while ago is only recalled with a chance that halves every half life of flips, a failed recall forgets it.
+ * All memory lives in bitsets and int arrays indexed by cell or pair id, so a decision doesn't walk the board
+ * unless it has to look for a card it hasn't seen.
+ */
+public class BotStrategy implements Strategy {
+    private static final int NONE = -1;
+
+    private final int capacity;
+    // ln 2 / half life, the chance to recall a card is e^(-age * decay).
+    private final double decay;
+
+    // The remembered cells, and the pair ids of which both cells are remembered.
+    private final BitSet known = new BitSet();
+    private final BitSet complete = new BitSet();
+    // Per cell, the pair id and the flip it was last seen at.
+    private int[] ids = new int[0];
+    private int[] seen = new int[0];
+    // Per cell, the neighbours in the list of remembered cells from newest to oldest.
+    private int[] newer = new int[0];
+    private int[] older = new int[0];
+    // Per pair id, two slots holding a remembered cell + 1, or 0.
+    private int[] cells = new int[0];
+    private int newest = NONE;
+    private int oldest = NONE;
+    private int remembered = 0;
+    private int flips = 0;
+    // The second card of the pair chosen with the first card of this turn.
+    private int planned = NONE;
+
+    /**
+     * @param capacity The amount of cards it can remember at once.
+     * @param halfLife The amount of flips after which a card is recalled half of the time, or 0 to never forget with time.
+     */
+    public BotStrategy(int capacity, int halfLife) {
+        if (capacity < 0) throw new IllegalArgumentException("The capacity can't be negative.");
+        if (halfLife < 0) throw new IllegalArgumentException("The half life can't be negative.");
+
+        this.capacity = capacity;
+        this.decay = (halfLife == 0) ? 0 : Math.log(2) / halfLife;
+    }
+
+    /**
+     * Remembers a handful of cards and loses them quickly.
+     */
+    public static BotStrategy forgetful() {
+        return new BotStrategy(6, 10);
+    }
+
+    /**
+     * Remembers about as much as a casual player.
+     */
+    public static BotStrategy average() {
+        return new BotStrategy(16, 40);
+    }
+
+    /**
+     * Never forgets a card.
+     */
+    public static BotStrategy perfect() {
+        return new BotStrategy(Integer.MAX_VALUE, 0);
+    }
+
+    @Override
+    public int select(Game game, SplittableRandom random) {
+        var board = game.getBoard();
+        this.ensureCells(board.size());
+
+        if (game.getSelectedCount() == 1) {
+            var planned = this.planned;
+            this.planned = NONE;
+
+            if (planned != NONE && RandomStrategy.isAvailable(game, planned)) return planned;
+
+            var selected = game.getSelectedCard(0);
+            var partner = this.partner(board.getId(selected), selected);
+
+            if (partner != NONE && this.recall(partner, random)) return partner;
+        } else {
+            for (int id = this.complete.nextSetBit(0); id >= 0; id = this.complete.nextSetBit(id + 1)) {
+                var first = this.cells[id * 2] - 1;
+                var second = this.cells[id * 2 + 1] - 1;
+
+                // Matched pairs are only forgotten once they come up.
+                if (board.isRemoved(first)) {
+                    this.forget(first);
+                    this.forget(second);
+                    continue;
+                }
+
+                if (this.recall(first, random) && this.recall(second, random)) {
+                    this.planned = second;
+                    return first;
+                }
+            }
+        }
+
+        return this.unseen(game, random);
+    }
+
+    @Override
+    public void reveal(int index, int id) {
+        this.ensureCells(index + 1);
+        this.ensurePairs(id + 1);
+        this.flips++;
+
+        if (this.capacity == 0) return;
+
+        if (this.known.get(index)) {
+            this.seen[index] = this.flips;
+            this.unlink(index);
+            this.link(index);
+            return;
+        }
+
+        this.known.set(index);
+        this.ids[index] = id;
+        this.seen[index] = this.flips;
+        this.link(index);
+        this.remembered++;
+
+        if (this.cells[id * 2] == 0) {
+            this.cells[id * 2] = index + 1;
+        } else {
+            this.cells[id * 2 + 1] = index + 1;
+            this.complete.set(id);
+        }
+
+        while (this.remembered > this.capacity) this.forget(this.oldest);
+    }
+
+    /**
+     * @return The remembered other card of the pair, or {@link #NONE}.
+     */
+    private int partner(int id, int index) {
+        if (id * 2 + 1 >= this.cells.length) return NONE;
+
+        var first = this.cells[id * 2] - 1;
+        var second = this.cells[id * 2 + 1] - 1;
+
+        if (first != NONE && first != index) return first;
+        if (second != NONE && second != index) return second;
+
+        return NONE;
+    }
+
+    /**
+     * Tries to recall a remembered card, which gets harder the longer ago it was seen.
+     *
+     * @return true if the card was recalled, otherwise it's forgotten.
+     */
+    private boolean recall(int index, SplittableRandom random) {
+        if (this.decay == 0) return true;
+
+        var age = this.flips - this.seen[index];
+        if (random.nextDouble() < Math.exp(-age * this.decay)) return true;
+
+        this.forget(index);
+        return false;
+    }
+
+    private void forget(int index) {
+        if (!this.known.get(index)) return;
+
+        var id = this.ids[index];
+
+        this.known.clear(index);
+        this.unlink(index);
+        this.remembered--;
+        this.complete.clear(id);
+
+        if (this.cells[id * 2] == index + 1) {
+            this.cells[id * 2] = this.cells[id * 2 + 1];
+        }
+
+        this.cells[id * 2 + 1] = 0;
+    }
+
+    /**
+     * Adds the cell to the newest end of the remembered cells.
+     */
+    private void link(int index) {
+        this.newer[index] = NONE;
+        this.older[index] = this.newest;
+
+        if (this.newest != NONE) this.newer[this.newest] = index;
+        else this.oldest = index;
+
+        this.newest = index;
+    }
+
+    private void unlink(int index) {
+        var newer = this.newer[index];
+        var older = this.older[index];
+
+        if (newer != NONE) this.older[newer] = older;
+        else this.newest = older;
+
+        if (older != NONE) this.newer[older] = newer;
+        else this.oldest = newer;
+    }
+
+    /**
+     * Picks a card it doesn't remember, falling back to any card that's left.
+     */
+    private int unseen(Game game, SplittableRandom random) {
+        var size = game.getBoard().size();
+
+        // Rejection sampling is cheap until most of the board is gone or remembered.
+        for (int attempt = 0; attempt < 32; attempt++) {
+            var index = random.nextInt(size);
+
+            if (!this.known.get(index) && RandomStrategy.isAvailable(game, index)) return index;
+        }
+
+        var start = random.nextInt(size);
+
+        for (int i = 0; i < size; i++) {
+            var index = (start + i) % size;
+
+            if (!this.known.get(index) && RandomStrategy.isAvailable(game, index)) return index;
+        }
+
+        return new RandomStrategy().select(game, random);
+    }
+
+    private void ensureCells(int size) {
+        if (this.ids.length >= size) return;
+
+        var length = Math.max(size, this.ids.length * 2);
+
+        this.ids = Arrays.copyOf(this.ids, length);
+        this.seen = Arrays.copyOf(this.seen, length);
+        this.newer = Arrays.copyOf(this.newer, length);
+        this.older = Arrays.copyOf(this.older, length);
+    }
+
+    private void ensurePairs(int pairs) {
+        if (this.cells.length < pairs * 2) this.cells = Arrays.copyOf(this.cells, Math.max(pairs * 2, this.cells.length * 2));
+    }
+}
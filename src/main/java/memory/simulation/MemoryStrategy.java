@@ -0,0 +1,105 @@
+package memory.simulation;
+
+import memory.model.Game;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Remembers every card it has seen and takes a known pair whenever it can.
+ */
+public class MemoryStrategy implements Strategy {
+    // The pair id seen per card, or 0 if the card hasn't been seen.
+    private int[] memory = new int[0];
+    // The index + 1 of the first and second seen card per pair id, or 0.
+    private int[] first = new int[0];
+    private int[] second = new int[0];
+    // Pair ids of which both cards have been seen.
+    private int[] complete = new int[0];
+    private int completeCount = 0;
+
+    @Override
+    public int select(Game game, SplittableRandom random) {
+        var board = game.getBoard();
+        this.ensureCapacity(board.size());
+
+        if (game.getSelectedCount() == 1) {
+            var selected = game.getSelectedCard(0);
+            var partner = this.partner(this.memory[selected], selected);
+
+            if (partner != -1) return partner;
+        } else {
+            while (this.completeCount > 0) {
+                var id = this.complete[this.completeCount - 1];
+                var index = this.first[id] - 1;
+
+                if (!board.isRemoved(index)) return index;
+
+                this.completeCount--;
+            }
+        }
+
+        return this.unseen(game, random);
+    }
+
+    @Override
+    public void reveal(int index, int id) {
+        this.ensureCapacity(index + 1);
+        if (this.first.length <= id) {
+            this.first = Arrays.copyOf(this.first, Math.max(id + 1, this.first.length * 2));
+            this.second = Arrays.copyOf(this.second, this.first.length);
+        }
+
+        if (this.memory[index] != 0) return;
+
+        this.memory[index] = id;
+
+        if (this.first[id] == 0) {
+            this.first[id] = index + 1;
+        } else {
+            this.second[id] = index + 1;
+
+            if (this.completeCount == this.complete.length) this.complete = Arrays.copyOf(this.complete, Math.max(8, this.completeCount * 2));
+            this.complete[this.completeCount++] = id;
+        }
+    }
+
+    /**
+     * @return The other seen card of the pair, or -1 if it hasn't been seen.
+     */
+    private int partner(int id, int index) {
+        if (id == 0 || id >= this.first.length || this.first[id] == 0) return -1;
+
+        if (this.first[id] - 1 != index) return this.first[id] - 1;
+        if (this.second[id] != 0) return this.second[id] - 1;
+
+        return -1;
+    }
+
+    /**
+     * Picks a card that hasn't been seen yet, falling back to any card that's left.
+     */
+    private int unseen(Game game, SplittableRandom random) {
+        var size = game.getBoard().size();
+
+        for (int attempt = 0; attempt < 32; attempt++) {
+            var index = random.nextInt(size);
+
+            if (this.memory[index] == 0 && RandomStrategy.isAvailable(game, index)) return index;
+        }
+
+        var start = random.nextInt(size);
+
+        for (int i = 0; i < size; i++) {
+            var index = (start + i) % size;
+
+            if (this.memory[index] == 0 && RandomStrategy.isAvailable(game, index)) return index;
+        }
+
+        return new RandomStrategy().select(game, random);
+    }
+
+    private void ensureCapacity(int size) {
+        if (this.memory.length < size) this.memory = Arrays.copyOf(this.memory, size);
+    }
+}
@@ -0,0 +1,45 @@
+package memory.simulation;
+
+import memory.model.Game;
+
+import java.util.SplittableRandom;
+
+/**
+ * Flips random cards and remembers nothing.
+ */
+public class RandomStrategy implements Strategy {
+    @Override
+    public int select(Game game, SplittableRandom random) {
+        var board = game.getBoard();
+
+        // Rejection sampling is cheap until most of the board is gone.
+        for (int attempt = 0; attempt < 32; attempt++) {
+            var index = random.nextInt(board.size());
+
+            if (isAvailable(game, index)) return index;
+        }
+
+        var start = random.nextInt(board.size());
+
+        for (int i = 0; i < board.size(); i++) {
+            var index = (start + i) % board.size();
+
+            if (isAvailable(game, index)) return index;
+        }
+
+        throw new IllegalStateException("There are no cards left to select.");
+    }
+
+    /**
+     * @return true if the card is on the board and not selected this turn.
+     */
+    static boolean isAvailable(Game game, int index) {
+        if (game.getBoard().isRemoved(index)) return false;
+
+        for (int i = 0; i < game.getSelectedCount(); i++) {
+            if (game.getSelectedCard(i) == index) return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,115 @@
+package memory.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Aggregated outcome of a batch of simulated games.
+ * Every worker fills its own results, which get merged once the batch is done.
+ */
+public class Results {
+    private long games = 0;
+    private long playerOneWins = 0;
+    private long playerTwoWins = 0;
+    private long draws = 0;
+    private long firstMoverWins = 0;
+    private long playerOneStarts = 0;
+    private long turns = 0;
+    // Amount of games per amount of turns it took to finish them.
+    private long[] turnCounts = new long[64];
+
+    /**
+     * Records a finished game.
+     *
+     * @param turns          The amount of turns the game took.
+     * @param starter        0 if player one started, 1 if player two did.
+     * @param winner         0 if player one won, 1 if player two won, -1 for a draw.
+     */
+    public void record(int turns, int starter, int winner) {
+        this.games++;
+        this.turns += turns;
+
+        if (starter == 0) this.playerOneStarts++;
+
+        if (winner == 0) this.playerOneWins++;
+        else if (winner == 1) this.playerTwoWins++;
+        else this.draws++;
+
+        if (winner == starter) this.firstMoverWins++;
+
+        if (turns >= this.turnCounts.length) this.turnCounts = Arrays.copyOf(this.turnCounts, Math.max(turns + 1, this.turnCounts.length * 2));
+        this.turnCounts[turns]++;
+    }
+
+    /**
+     * Adds the other results to these.
+     *
+     * @param other The results to add.
+     * @return These results.
+     */
+    public Results merge(Results other) {
+        this.games += other.games;
+        this.playerOneWins += other.playerOneWins;
+        this.playerTwoWins += other.playerTwoWins;
+        this.draws += other.draws;
+        this.firstMoverWins += other.firstMoverWins;
+        this.playerOneStarts += other.playerOneStarts;
+        this.turns += other.turns;
+
+        if (other.turnCounts.length > this.turnCounts.length) this.turnCounts = Arrays.copyOf(this.turnCounts, other.turnCounts.length);
+        for (int i = 0; i < other.turnCounts.length; i++) this.turnCounts[i] += other.turnCounts[i];
+
+        return this;
+    }
+
+    /**
+     * Returns the amount of turns that the given fraction of games finished within.
+     *
+     * @param percentile A fraction between 0 and 1.
+     */
+    public int getTurnPercentile(double percentile) {
+        var target = (long) Math.ceil(percentile * this.games);
+        var seen = 0L;
+
+        for (int turns = 0; turns < this.turnCounts.length; turns++) {
+            seen += this.turnCounts[turns];
+            if (seen >= target && seen > 0) return turns;
+        }
+
+        return this.turnCounts.length - 1;
+    }
+
+    public long getGames() {
+        return this.games;
+    }
+
+    public double getPlayerOneWinRate() {
+        return rate(this.playerOneWins, this.games);
+    }
+
+    public double getPlayerTwoWinRate() {
+        return rate(this.playerTwoWins, this.games);
+    }
+
+    public double getDrawRate() {
+        return rate(this.draws, this.games);
+    }
+
+    /**
+     * @return How often the player who started won, out of the games that weren't a draw.
+     */
+    public double getFirstMoverWinRate() {
+        return rate(this.firstMoverWins, this.games - this.draws);
+    }
+
+    public double getPlayerOneStartRate() {
+        return rate(this.playerOneStarts, this.games);
+    }
+
+    public double getAverageTurns() {
+        return rate(this.turns, this.games);
+    }
+
+    private static double rate(long count, long total) {
+        return (total == 0) ? 0 : (double) count / total;
+    }
+}
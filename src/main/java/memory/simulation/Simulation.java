@@ -0,0 +1,96 @@
+package memory.simulation;
+
+import memory.model.Game;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Plays games between two strategies without any UI, spread over all cores.
+ */
+public class Simulation {
+    // Games per task, large enough to keep the fork-join overhead out of the numbers.
+    private static final int CHUNK = 256;
+
+    private final int rows;
+    private final int columns;
+    private final Supplier<Strategy> playerOne;
+    private final Supplier<Strategy> playerTwo;
+
+    public Simulation(int rows, int columns, Supplier<Strategy> playerOne, Supplier<Strategy> playerTwo) {
+        this.rows = rows;
+        this.columns = columns;
+        this.playerOne = playerOne;
+        this.playerTwo = playerTwo;
+    }
+
+    /**
+     * Plays the given amount of games on the given pool.
+     * The same seed always gives the same results, no matter the amount of threads.
+     *
+     * @param games The amount of games.
+     * @param seed  The seed every game's randomness is split from.
+     * @param pool  The pool to play on.
+     */
+    public Results run(long games, long seed, ForkJoinPool pool) {
+        var chunks = (int) ((games + CHUNK - 1) / CHUNK);
+        var root = new SplittableRandom(seed);
+        var randoms = new SplittableRandom[chunks];
+
+        for (int i = 0; i < chunks; i++) randoms[i] = root.split();
+
+        var task = pool.submit(() -> IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> this.play(Math.min(CHUNK, games - (long) chunk * CHUNK), randoms[chunk]))
+                .collect(Results::new, Results::merge, Results::merge));
+
+        return task.join();
+    }
+
+    /**
+     * Plays a chunk of games on the calling thread.
+     */
+    private Results play(long games, SplittableRandom random) {
+        var results = new Results();
+        var game = new Game(this.rows, this.columns);
+
+        for (long i = 0; i < games; i++) this.play(game, random, results);
+
+        return results;
+    }
+
+    /**
+     * Plays a single game to its end and records the outcome.
+     */
+    public void play(Game game, SplittableRandom random, Results results) {
+        game.generatePlayers(random);
+        game.loadCards(game.generateCards(random));
+
+        var one = this.playerOne.get();
+        var two = this.playerTwo.get();
+        var starter = (game.getCurrentPlayer() == game.getplayerOne()) ? 0 : 1;
+        var board = game.getBoard();
+        var turns = 0;
+
+        while (!game.checkForGameEnd()) {
+            var strategy = (game.getCurrentPlayer() == game.getplayerOne()) ? one : two;
+
+            for (int flip = 0; flip < 2; flip++) {
+                var index = strategy.select(game, random);
+
+                game.addSelectedCard(index);
+                one.reveal(index, board.getId(index));
+                two.reveal(index, board.getId(index));
+            }
+
+            game.calculatePair();
+            turns++;
+        }
+
+        var winner = game.getWinner();
+
+        results.record(turns, starter, (winner == null) ? -1 : (winner == game.getplayerOne()) ? 0 : 1);
+    }
+}
@@ -0,0 +1,54 @@
+package memory.simulation;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Command line entry point for headless simulations.
+ * <p>
+ * Usage: Simulator [games] [rows] [columns] [player one strategy] [player two strategy] [seed] [threads]
+ */
+public class Simulator {
+    private static final Map<String, Supplier<Strategy>> STRATEGIES = Map.of(
+            "random", RandomStrategy::new,
+            "memory", MemoryStrategy::new,
+            "forgetful", BotStrategy::forgetful,
+            "average", BotStrategy::average,
+            "perfect", BotStrategy::perfect
+    );
+
+    public static void main(String[] args) {
+        var games = (args.length > 0) ? Long.parseLong(args[0]) : 1_000_000L;
+        var rows = (args.length > 1) ? Integer.parseInt(args[1]) : 6;
+        var columns = (args.length > 2) ? Integer.parseInt(args[2]) : 6;
+        var one = strategy((args.length > 3) ? args[3] : "memory");
+        var two = strategy((args.length > 4) ? args[4] : "memory");
+        var seed = (args.length > 5) ? Long.parseLong(args[5]) : System.nanoTime();
+        var threads = (args.length > 6) ? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors();
+
+        var simulation = new Simulation(rows, columns, one, two);
+        var pool = new ForkJoinPool(threads);
+
+        var start = System.nanoTime();
+        var results = simulation.run(games, seed, pool);
+        var seconds = (System.nanoTime() - start) / 1e9;
+
+        pool.shutdown();
+
+        System.out.printf("%s games on a %sx%s board, seed %s%n", results.getGames(), rows, columns, seed);
+        System.out.printf("Player one wins:    %.2f%%%n", results.getPlayerOneWinRate() * 100);
+        System.out.printf("Player two wins:    %.2f%%%n", results.getPlayerTwoWinRate() * 100);
+        System.out.printf("Draws:              %.2f%%%n", results.getDrawRate() * 100);
+        System.out.printf("First mover wins:   %.2f%% of decided games%n", results.getFirstMoverWinRate() * 100);
+        System.out.printf("Turns to finish:    %.1f average, %s p50, %s p99%n", results.getAverageTurns(), results.getTurnPercentile(0.5), results.getTurnPercentile(0.99));
+        System.out.printf("Throughput:         %.0f games/s, %.0f games/s per core on %s threads%n", games / seconds, games / seconds / threads, threads);
+    }
+
+    private static Supplier<Strategy> strategy(String name) {
+        var strategy = STRATEGIES.get(name);
+        if (strategy == null) throw new IllegalArgumentException("Unknown strategy " + name + ", use one of " + STRATEGIES.keySet() + ".");
+
+        return strategy;
+    }
+}
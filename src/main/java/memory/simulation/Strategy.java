@@ -0,0 +1,30 @@
+package memory.simulation;
+
+import memory.model.Game;
+
+import java.util.SplittableRandom;
+
+/**
+ * Decides which cards a simulated player flips.
+ * A strategy plays a single game, so it can remember what it has seen.
+ */
+public interface Strategy {
+    /**
+     * Picks the next card to flip.
+     * The card can't be removed or already selected this turn.
+     *
+     * @param game   The game being played.
+     * @param random The source for random choices.
+     * @return The index of the card.
+     */
+    int select(Game game, SplittableRandom random);
+
+    /**
+     * Called for every card that gets flipped, by either player.
+     *
+     * @param index The index of the card.
+     * @param id    The pair id of the card.
+     */
+    default void reveal(int index, int id) {
+    }
+}
@@ -0,0 +1,150 @@
+package memory.solver;
+
+import memory.model.Replay;
+import memory.model.SaveFile;
+
+import java.io.IOException;
+
+/**
+ * Scores every card turned in a recorded game against optimal play with perfect memory.
+ * A choice loses the difference between the value of the best kind of card and the kind that was chosen, in expected
+ * pairs, so a bad choice counts even when it happened to work out.
+ */
+public class Analysis {
+    // Choices this close to the best count as optimal, the values are sums of doubles.
+    private static final double EPSILON = 1e-9;
+
+    private final String[] names = new String[2];
+    private final int[] choices = new int[2];
+    private final int[] mistakes = new int[2];
+    private final double[] lost = new double[2];
+    private final int[] pairs = new int[2];
+    private final int starter;
+    private final double expected;
+
+    private Analysis(SaveFile save, Solver solver) {
+        var replay = Replay.of(save);
+        var knowledge = new Knowledge();
+        var moves = save.getMoves();
+        var game = replay.seek(0);
+        var board = game.getBoard();
+
+        this.starter = (game.getCurrentPlayer() == game.getplayerOne()) ? 0 : 1;
+        this.expected = solver.getExpectedPairs(board.getPairs(), 0, 0);
+
+        for (int move = 0; move < moves.length; move++) {
+            game = replay.seek(move);
+            board = game.getBoard();
+
+            var player = (game.getCurrentPlayer() == game.getplayerOne()) ? 0 : 1;
+            var index = moves[move];
+            var seen = knowledge.isSeen(index);
+            double best;
+            double chosen;
+
+            if (game.getSelectedCount() == 0) {
+                var counts = knowledge.count(board, Knowledge.NONE);
+                var flip = !seen ? Flip.UNKNOWN : knowledge.isSeen(Knowledge.partner(board, index)) ? Flip.PAIR : Flip.SINGLE;
+
+                best = solver.getFirstValue(solver.getBestFirst(counts[0], counts[1], counts[2]), counts[0], counts[1], counts[2]);
+                chosen = solver.getFirstValue(flip, counts[0], counts[1], counts[2]);
+            } else {
+                var first = game.getSelectedCard(0);
+                var partner = Knowledge.partner(board, first);
+                var partnerKnown = knowledge.isSeen(partner);
+                var counts = knowledge.count(board, board.getId(first));
+                var flip = (index == partner && partnerKnown) ? Flip.MATCH : seen ? Flip.KNOWN : Flip.UNKNOWN;
+
+                best = solver.getSecondValue(solver.getBestSecond(counts[0], counts[1], counts[2], partnerKnown), counts[0], counts[1], counts[2], partnerKnown);
+                chosen = solver.getSecondValue(flip, counts[0], counts[1], counts[2], partnerKnown);
+            }
+
+            this.choices[player]++;
+
+            // Values are differences between both players, half of it is what the player gave away.
+            if (best - chosen > EPSILON) {
+                this.mistakes[player]++;
+                this.lost[player] += (best - chosen) / 2;
+            }
+
+            knowledge.see(index);
+        }
+
+        game = replay.seek(moves.length);
+
+        for (int player = 0; player < 2; player++) {
+            var current = (player == 0) ? game.getplayerOne() : game.getplayerTwo();
+
+            this.names[player] = save.getName(player);
+            this.pairs[player] = current.getBadgeCount();
+        }
+    }
+
+    /**
+     * Analyses a save that holds its seed and moves.
+     *
+     * @param save   The save.
+     * @param solver A solver covering at least the pairs of the save's board.
+     * @throws IllegalArgumentException if the save has no history or a move couldn't have been made.
+     */
+    public static Analysis of(SaveFile save, Solver solver) {
+        return new Analysis(save, solver);
+    }
+
+    /**
+     * @param player 0 for the first player, 1 for the second.
+     * @return The amount of cards the player turned.
+     */
+    public int getChoices(int player) {
+        return this.choices[player];
+    }
+
+    /**
+     * @return The amount of cards the player turned that weren't the best choice.
+     */
+    public int getMistakes(int player) {
+        return this.mistakes[player];
+    }
+
+    /**
+     * @return The expected amount of pairs the player gave away with their mistakes.
+     */
+    public double getPairsLost(int player) {
+        return this.lost[player];
+    }
+
+    /**
+     * @return The amount of pairs the player ended up with.
+     */
+    public int getPairs(int player) {
+        return this.pairs[player];
+    }
+
+    /**
+     * @return The player that started, 0 or 1.
+     */
+    public int getStarter() {
+        return this.starter;
+    }
+
+    /**
+     * @return The pairs the starting player can expect when both players play optimally.
+     */
+    public double getExpectedPairs() {
+        return this.expected;
+    }
+
+    /**
+     * Writes a readable report.
+     *
+     * @param out Where to write it.
+     */
+    public void write(Appendable out) throws IOException {
+        out.append(String.format("Optimal play gives the starting player, %s, %.2f pairs on average.%n", this.names[this.starter], this.expected));
+
+        for (int player = 0; player < 2; player++) {
+            out.append(String.format("%s: %s pairs, %s of %s cards optimal, %.2f expected pairs given away.%n",
+                    this.names[player], this.pairs[player], this.choices[player] - this.mistakes[player], this.choices[player], this.lost[player]));
+        }
+    }
+}
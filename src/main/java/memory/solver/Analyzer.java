@@ -0,0 +1,37 @@
+package memory.solver;
+
+import memory.model.SaveFile;
+import memory.model.SaveFileException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command line entry point for analysing saves against optimal play.
+ * <p>
+ * Usage: Analyzer [save...], saves need to be binary saves that hold the seed and moves.
+ * The solver's table is kept in ~/.memory/solver.table.
+ */
+public class Analyzer {
+    private static final Path TABLE = Path.of(System.getProperty("user.home"), ".memory", "solver.table");
+
+    public static void main(String[] args) throws IOException {
+        var start = System.nanoTime();
+        var solver = Solver.open(TABLE, Solver.DEFAULT_PAIRS);
+
+        System.out.printf("Solver table for %s pairs ready in %.1f ms%n", solver.getPairs(), (System.nanoTime() - start) / 1e6);
+
+        for (var arg : args) {
+            System.out.printf("%n%s%n", arg);
+
+            try {
+                var save = SaveFile.read(Path.of(arg));
+                if (save.getRows() * save.getColumns() / 2 > solver.getPairs()) solver = Solver.open(TABLE, save.getRows() * save.getColumns() / 2);
+
+                Analysis.of(save, solver).write(System.out);
+            } catch (IOException | SaveFileException | IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+}
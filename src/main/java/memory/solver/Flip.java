@@ -0,0 +1,28 @@
+package memory.solver;
+
+/**
+ * The kinds of card a player with perfect memory can choose between.
+ * Which card of a kind is chosen doesn't matter, only what the player knows about it.
+ */
+public enum Flip {
+    /**
+     * First card: a card of which the partner has been seen too.
+     */
+    PAIR,
+    /**
+     * First card: a card that has been seen, of which the partner hasn't.
+     */
+    SINGLE,
+    /**
+     * Either card: a card that hasn't been seen yet.
+     */
+    UNKNOWN,
+    /**
+     * Second card: the partner of the first card, which has been seen.
+     */
+    MATCH,
+    /**
+     * Second card: a card that has been seen and doesn't match, which ends the turn without learning anything.
+     */
+    KNOWN
+}
@@ -0,0 +1,62 @@
+package memory.solver;
+
+import memory.model.Game;
+import memory.model.event.CardFlipped;
+import memory.model.event.GameStarted;
+
+/**
+ * Suggests the optimal next card for a player with perfect memory, remembering every card turned in the game.
+ */
+public class Hints {
+    private final Game game;
+    private final Knowledge knowledge = new Knowledge();
+
+    public Hints(Game game) {
+        this.game = game;
+
+        var events = game.getEvents();
+
+        events.on(CardFlipped.class, e -> this.knowledge.see(e.getIndex()));
+        events.on(GameStarted.class, e -> this.restart());
+
+        this.restart();
+    }
+
+    /**
+     * Forgets the previous game, a game with a recorded history has seen all the cards it turned.
+     */
+    private void restart() {
+        this.knowledge.clear();
+
+        for (int index : this.game.getMoves()) this.knowledge.see(index);
+    }
+
+    /**
+     * Picks the next card to turn.
+     *
+     * @param solver A solver covering at least the pairs on the board.
+     * @return The index of the card, or {@link Knowledge#NONE} if there's nothing to turn.
+     */
+    public int suggest(Solver solver) {
+        var board = this.game.getBoard();
+
+        if (this.game.checkForGameEnd() || this.game.getSelectedCount() == 2) return Knowledge.NONE;
+
+        if (this.game.getSelectedCount() == 0) {
+            var counts = this.knowledge.count(board, Knowledge.NONE);
+            var flip = solver.getBestFirst(counts[0], counts[1], counts[2]);
+
+            return this.knowledge.find(board, flip, Knowledge.NONE);
+        }
+
+        var first = this.game.getSelectedCard(0);
+        var partner = Knowledge.partner(board, first);
+        var partnerKnown = this.knowledge.isSeen(partner);
+        var counts = this.knowledge.count(board, board.getId(first));
+        var flip = solver.getBestSecond(counts[0], counts[1], counts[2], partnerKnown);
+
+        if (flip == Flip.MATCH) return partner;
+
+        return this.knowledge.find(board, flip, first);
+    }
+}
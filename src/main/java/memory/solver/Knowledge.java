@@ -0,0 +1,101 @@
+package memory.solver;
+
+import memory.model.Board;
+
+import java.util.BitSet;
+
+/**
+ * The cards a player with perfect memory has seen, which is every card that has been turned.
+ */
+public class Knowledge {
+    public static final int NONE = -1;
+
+    private final BitSet seen = new BitSet();
+
+    public void see(int index) {
+        this.seen.set(index);
+    }
+
+    public boolean isSeen(int index) {
+        return this.seen.get(index);
+    }
+
+    public void clear() {
+        this.seen.clear();
+    }
+
+    /**
+     * Counts what the solver needs to know about the board.
+     *
+     * @param board  The board.
+     * @param except The pair id to leave out of the singles and known pairs, or {@link #NONE}.
+     * @return The pairs left, the singles and the known pairs.
+     */
+    public int[] count(Board board, int except) {
+        var counts = this.countSeen(board);
+        var singles = 0;
+        var known = 0;
+
+        for (int id = 1; id < counts.length; id++) {
+            if (id == except) continue;
+
+            if (counts[id] == 1) singles++;
+            if (counts[id] == 2) known++;
+        }
+
+        return new int[]{board.getRemaining() / 2, singles, known};
+    }
+
+    /**
+     * Finds a card on the board of the given kind.
+     *
+     * @param board The board.
+     * @param flip  {@link Flip#PAIR}, {@link Flip#SINGLE}, {@link Flip#UNKNOWN} or {@link Flip#KNOWN}.
+     * @param skip  The first card of the turn, which can't be chosen again, or {@link #NONE}.
+     * @return The index of the card, or {@link #NONE}.
+     */
+    public int find(Board board, Flip flip, int skip) {
+        var counts = this.countSeen(board);
+        var skipped = (skip == NONE) ? NONE : board.getId(skip);
+
+        for (int i = 0; i < board.size(); i++) {
+            if (i == skip || board.isRemoved(i)) continue;
+
+            var seen = this.seen.get(i);
+            var id = board.getId(i);
+
+            if (flip == Flip.UNKNOWN && !seen) return i;
+            if (flip == Flip.KNOWN && seen && id != skipped) return i;
+            if (flip == Flip.PAIR && seen && counts[id] == 2) return i;
+            if (flip == Flip.SINGLE && seen && counts[id] == 1) return i;
+        }
+
+        return NONE;
+    }
+
+    /**
+     * @return The amount of seen cards per pair id that's still on the board.
+     */
+    private int[] countSeen(Board board) {
+        var counts = new int[board.getPairs() + 1];
+
+        for (int i = this.seen.nextSetBit(0); i >= 0 && i < board.size(); i = this.seen.nextSetBit(i + 1)) {
+            if (!board.isRemoved(i)) counts[board.getId(i)]++;
+        }
+
+        return counts;
+    }
+
+    /**
+     * @return The other card of the pair the given card belongs to.
+     */
+    public static int partner(Board board, int index) {
+        var id = board.getId(index);
+
+        for (int i = 0; i < board.size(); i++) {
+            if (i != index && board.getId(i) == id) return i;
+        }
+
+        return NONE;
+    }
+}
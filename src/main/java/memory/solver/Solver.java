@@ -0,0 +1,308 @@
+package memory.solver;
+
+import memory.model.SaveFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Optimal play for two players with perfect memory, under this game's rule that the turn passes after every two cards.
+ * <p>
+ * Both players see every card, so the state at the start of a turn is the amount of pairs left and the amount of
+ * singles: pairs of which exactly one card has been seen. A pair of which both cards have been seen is taken by the next
+ * player, so known pairs never pile up. The value of a state is the expected amount of pairs the player on turn
+ * gets minus the amount the other player gets, when both play optimally.
+ * If neither player wants to make a move, both can keep turning two known cards, which is worth 0.
+ * <p>
+ * The values only depend on states with fewer unknown cards, so every amount of unknown cards is one wave of
+ * independent states that is solved in parallel. The table is stored as doubles after a small header and is
+ * memory-mapped when it's opened again.
+ */
+public class Solver {
+    public static final int DEFAULT_PAIRS = 512;
+
+    private static final int MAGIC = 0x4D454D53;
+    private static final int VERSION = 1;
+    private static final int HEADER = 16;
+    // Waves narrower than this are solved on the calling thread.
+    private static final int PARALLEL_WAVE = 2048;
+
+    private final int pairs;
+    private final DoubleBuffer values;
+
+    private Solver(int pairs, DoubleBuffer values) {
+        this.pairs = pairs;
+        this.values = values;
+    }
+
+    /**
+     * Maps the table stored in the given file, solving and storing it first if it's missing or too small.
+     *
+     * @param file  The table file.
+     * @param pairs The amount of pairs the table should at least cover.
+     */
+    public static Solver open(Path file, int pairs) throws IOException {
+        if (Files.exists(file)) {
+            try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+                if (buffer.limit() >= HEADER && buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION) {
+                    var stored = buffer.getInt(8);
+
+                    if (stored >= pairs && buffer.limit() == HEADER + (long) size(stored) * Double.BYTES) {
+                        return new Solver(stored, buffer.position(HEADER).slice().asDoubleBuffer());
+                    }
+                }
+            }
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+
+        var solved = solve(pairs, ForkJoinPool.commonPool());
+        SaveFile.replace(file, solved.duplicate().position(0));
+
+        return new Solver(pairs, solved.position(HEADER).slice().asDoubleBuffer());
+    }
+
+    /**
+     * Solves a table in memory without storing it.
+     *
+     * @param pairs The amount of pairs the table covers.
+     * @param pool  The pool to solve on.
+     */
+    public static Solver compute(int pairs, ForkJoinPool pool) {
+        return new Solver(pairs, solve(pairs, pool).position(HEADER).slice().asDoubleBuffer());
+    }
+
+    /**
+     * @return A buffer holding the header and the table.
+     */
+    private static ByteBuffer solve(int pairs, ForkJoinPool pool) {
+        if (pairs < 0) throw new IllegalArgumentException("The amount of pairs can't be negative.");
+        if (HEADER + (long) size(pairs) * Double.BYTES > Integer.MAX_VALUE) throw new IllegalArgumentException(pairs + " pairs don't fit in a table.");
+
+        var buffer = ByteBuffer.allocateDirect(HEADER + size(pairs) * Double.BYTES);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, pairs);
+
+        var solver = new Solver(pairs, buffer.duplicate().position(HEADER).slice().asDoubleBuffer());
+
+        // A state with u unknown cards only depends on states with fewer, so each wave only needs the previous ones.
+        for (int unknown = 1; unknown <= 2 * pairs; unknown++) {
+            var from = (unknown + 1) / 2;
+            var to = Math.min(unknown, pairs);
+            var wave = unknown;
+
+            if (to - from < PARALLEL_WAVE) {
+                for (int n = from; n <= to; n++) solver.solve(n, 2 * n - wave);
+            } else {
+                pool.submit(() -> IntStream.rangeClosed(from, to).parallel().forEach(n -> solver.solve(n, 2 * n - wave))).join();
+            }
+        }
+
+        return buffer;
+    }
+
+    private void solve(int pairs, int singles) {
+        var best = Double.NEGATIVE_INFINITY;
+
+        for (var flip : Flip.values()) best = Math.max(best, this.first(flip, pairs, singles, 0, false));
+
+        // Turning two known cards leaves the other player in this same state, which is only worth it at 0.
+        if (singles >= 2) best = Math.max(best, 0);
+
+        this.values.put(index(pairs, singles), best);
+    }
+
+    /**
+     * @return The amount of pairs the table covers.
+     */
+    public int getPairs() {
+        return this.pairs;
+    }
+
+    /**
+     * Returns the value of a state at the start of a turn.
+     *
+     * @param pairs   The pairs left on the board.
+     * @param singles The pairs of which one card has been seen.
+     * @param known   The pairs of which both cards have been seen.
+     * @return The expected pairs of the player on turn minus those of the other player.
+     */
+    public double getValue(int pairs, int singles, int known) {
+        if (pairs > this.pairs) throw new IllegalArgumentException(String.format("The table covers %s pairs, not %s.", this.pairs, pairs));
+        if (singles < 0 || known < 0 || singles + known > pairs) throw new IllegalArgumentException(String.format("%s singles and %s known pairs don't fit in %s pairs.", singles, known, pairs));
+
+        return this.value(pairs, singles, known);
+    }
+
+    /**
+     * @return The expected amount of pairs the player on turn gets, see {@link #getValue(int, int, int)}.
+     */
+    public double getExpectedPairs(int pairs, int singles, int known) {
+        return (pairs + this.getValue(pairs, singles, known)) / 2;
+    }
+
+    /**
+     * Returns the value of choosing a kind of first card, when the second card is chosen optimally.
+     *
+     * @return The value, or negative infinity if there's no such card.
+     */
+    public double getFirstValue(Flip flip, int pairs, int singles, int known) {
+        this.getValue(pairs, singles, known);
+
+        return this.first(flip, pairs, singles, known, true);
+    }
+
+    /**
+     * Returns the value of choosing a kind of second card.
+     *
+     * @param singles      The singles, not counting the pair of the first card.
+     * @param known        The known pairs, not counting the pair of the first card.
+     * @param partnerKnown Whether the partner of the first card has been seen.
+     * @return The value, or negative infinity if there's no such card.
+     */
+    public double getSecondValue(Flip flip, int pairs, int singles, int known, boolean partnerKnown) {
+        this.getValue(pairs, singles, known);
+
+        return this.second(flip, pairs, singles, known, partnerKnown);
+    }
+
+    /**
+     * @return The best kind of first card.
+     */
+    public Flip getBestFirst(int pairs, int singles, int known) {
+        var best = Flip.UNKNOWN;
+        var value = Double.NEGATIVE_INFINITY;
+
+        for (var flip : Flip.values()) {
+            var next = this.getFirstValue(flip, pairs, singles, known);
+
+            if (next > value) {
+                best = flip;
+                value = next;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * @return The best kind of second card.
+     */
+    public Flip getBestSecond(int pairs, int singles, int known, boolean partnerKnown) {
+        var best = Flip.UNKNOWN;
+        var value = Double.NEGATIVE_INFINITY;
+
+        for (var flip : Flip.values()) {
+            var next = this.getSecondValue(flip, pairs, singles, known, partnerKnown);
+
+            if (next > value) {
+                best = flip;
+                value = next;
+            }
+        }
+
+        return best;
+    }
+
+    private double value(int pairs, int singles, int known) {
+        // The player on turn takes a known pair, the next player faces the rest.
+        if (known > 0) return 1 - this.value(pairs - 1, singles, known - 1);
+
+        return this.values.get(index(pairs, singles));
+    }
+
+    /**
+     * @param pass Whether turning two known cards may be chosen, it's left out while the state itself is solved.
+     */
+    private double first(Flip flip, int pairs, int singles, int known, boolean pass) {
+        var unknownPairs = pairs - singles - known;
+        var unknown = singles + 2 * unknownPairs;
+
+        switch (flip) {
+            case PAIR:
+                if (known == 0) return Double.NEGATIVE_INFINITY;
+                return this.bestSecond(pairs, singles, known - 1, true, true);
+            case SINGLE:
+                if (singles == 0) return Double.NEGATIVE_INFINITY;
+                return this.bestSecond(pairs, singles - 1, known, false, pass);
+            case UNKNOWN:
+                if (unknown == 0) return Double.NEGATIVE_INFINITY;
+
+                var value = 0.0;
+                if (singles > 0) value += (double) singles / unknown * this.bestSecond(pairs, singles - 1, known, true, true);
+                if (unknownPairs > 0) value += 2.0 * unknownPairs / unknown * this.bestSecond(pairs, singles, known, false, true);
+                return value;
+            default:
+                return Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    private double bestSecond(int pairs, int singles, int known, boolean partnerKnown, boolean pass) {
+        var best = Double.NEGATIVE_INFINITY;
+
+        for (var flip : Flip.values()) {
+            // Turning a known single and then a known card changes nothing, see solve.
+            if (!pass && flip == Flip.KNOWN) continue;
+
+            best = Math.max(best, this.second(flip, pairs, singles, known, partnerKnown));
+        }
+
+        return best;
+    }
+
+    /**
+     * The value of the second card, singles and known only count the pairs besides the one of the first card.
+     */
+    private double second(Flip flip, int pairs, int singles, int known, boolean partnerKnown) {
+        var unknownPairs = pairs - 1 - singles - known;
+        var unknown = singles + 2 * unknownPairs + (partnerKnown ? 0 : 1);
+
+        switch (flip) {
+            case MATCH:
+                if (!partnerKnown) return Double.NEGATIVE_INFINITY;
+                return 1 - this.value(pairs - 1, singles, known);
+            case KNOWN:
+                if (partnerKnown) {
+                    if (singles + 2 * known == 0) return Double.NEGATIVE_INFINITY;
+                    return -this.value(pairs, singles, known + 1);
+                }
+
+                if (singles + 2 * known == 0) return Double.NEGATIVE_INFINITY;
+                return -this.value(pairs, singles + 1, known);
+            case UNKNOWN:
+                if (unknown == 0) return Double.NEGATIVE_INFINITY;
+
+                var value = 0.0;
+
+                if (partnerKnown) {
+                    // The first card's pair is left to the other player either way.
+                    if (singles > 0) value -= (double) singles / unknown * this.value(pairs, singles - 1, known + 2);
+                    if (unknownPairs > 0) value -= 2.0 * unknownPairs / unknown * this.value(pairs, singles + 1, known + 1);
+                } else {
+                    value += 1.0 / unknown * (1 - this.value(pairs - 1, singles, known));
+                    if (singles > 0) value -= (double) singles / unknown * this.value(pairs, singles, known + 1);
+                    if (unknownPairs > 0) value -= 2.0 * unknownPairs / unknown * this.value(pairs, singles + 2, known);
+                }
+
+                return value;
+            default:
+                return Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    private static int index(int pairs, int singles) {
+        return pairs * (pairs + 1) / 2 + singles;
+    }
+
+    private static int size(int pairs) {
+        return (pairs + 1) * (pairs + 2) / 2;
+    }
+}
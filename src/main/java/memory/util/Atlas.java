@@ -0,0 +1,122 @@
+package memory.util;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A pre-scaled sprite sheet made by the atlas build task.
+ * Every image of one display size lives in a single texture, views show a part of it through their viewport.
+ */
+public class Atlas {
+    private static final Map<Integer, Atlas> ATLASES = new HashMap<>();
+
+    private final String url;
+    private final Map<String, Rectangle2D> regions = new HashMap<>();
+
+    private Atlas(String url) {
+        this.url = url;
+    }
+
+    /**
+     * Returns the atlas of the given display size.
+     *
+     * @param size The width and height the images get displayed at.
+     * @return The atlas, or null when the build didn't produce one for this size.
+     */
+    public static synchronized Atlas get(int size) {
+        if (ATLASES.containsKey(size)) return ATLASES.get(size);
+
+        var atlas = load(size);
+        ATLASES.put(size, atlas);
+
+        return atlas;
+    }
+
+    private static Atlas load(int size) {
+        var index = Atlas.class.getResourceAsStream(String.format("/atlas/atlas-%s.properties", size));
+
+        if (index == null) return null;
+
+        var atlas = new Atlas(String.format("/atlas/atlas-%s.png", size));
+        var properties = new Properties();
+
+        try (var reader = new InputStreamReader(index, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            return null;
+        }
+
+        for (var url : properties.stringPropertyNames()) {
+            var region = properties.getProperty(url).split(",");
+
+            atlas.regions.put(url, new Rectangle2D(
+                    Double.parseDouble(region[0]),
+                    Double.parseDouble(region[1]),
+                    Double.parseDouble(region[2]),
+                    Double.parseDouble(region[3])
+            ));
+        }
+
+        return atlas;
+    }
+
+    /**
+     * Shows an image in the given view.
+     * Uses the atlas of the size if it holds the image, otherwise decodes the image on its own.
+     *
+     * @param view The view to show the image in.
+     * @param url  The url of the image.
+     * @param size The width and height the image gets displayed at.
+     */
+    public static void display(ImageView view, String url, int size) {
+        var atlas = get(size);
+
+        if (atlas != null && atlas.contains(url)) {
+            view.setImage(atlas.getImage());
+            view.setViewport(atlas.getViewport(url));
+        } else {
+            view.setImage(ImageCache.getInstance().get(url, size, size));
+            view.setViewport(null);
+        }
+    }
+
+    /**
+     * Starts decoding the given images, loading the atlas instead of images it holds.
+     *
+     * @param urls The urls of the images.
+     * @param size The width and height the images get displayed at.
+     */
+    public static void warmUp(Iterable<String> urls, int size) {
+        var atlas = get(size);
+        var missing = new ArrayList<String>();
+
+        for (var url : urls) {
+            if (atlas != null && atlas.contains(url)) continue;
+            missing.add(url);
+        }
+
+        if (atlas != null) atlas.getImage();
+        ImageCache.getInstance().warmUp(missing, size, size);
+    }
+
+    public boolean contains(String url) {
+        return this.regions.containsKey(url);
+    }
+
+    public Image getImage() {
+        return ImageCache.getInstance().get(this.url, 0, 0);
+    }
+
+    public Rectangle2D getViewport(String url) {
+        return this.regions.get(url);
+    }
+}
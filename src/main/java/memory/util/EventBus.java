@@ -0,0 +1,90 @@
+package memory.util;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers events to the handlers registered for their exact type.
+ * Events published during an {@link Observable#transaction(Runnable)} are held back until it has committed,
+ * so handlers always see the finished state.
+ */
+public class EventBus {
+    private final Map<Class<?>, List<Consumer<Object>>> handlers = new HashMap<>();
+    private final List<Consumer<Object>> all = new CopyOnWriteArrayList<>();
+    private final ArrayDeque<Object> pending = new ArrayDeque<>();
+    private final Runnable flush = this::flush;
+    private boolean scheduled = false;
+
+    /**
+     * Registers a handler for one type of event.
+     *
+     * @param type    The class of the events.
+     * @param handler The handler.
+     */
+    @SuppressWarnings("unchecked")
+    public <E> void on(Class<E> type, Consumer<? super E> handler) {
+        this.handlers.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>()).add((Consumer<Object>) handler);
+    }
+
+    /**
+     * Registers a handler for every event, for example to log them.
+     *
+     * @param handler The handler.
+     */
+    public void onAll(Consumer<Object> handler) {
+        this.all.add(handler);
+    }
+
+    /**
+     * Tells if an event of the given type would reach any handler.
+     * Publishers can check this first to avoid creating events nobody listens to.
+     *
+     * @param type The class of the event.
+     */
+    public boolean wants(Class<?> type) {
+        return !this.all.isEmpty() || this.handlers.containsKey(type);
+    }
+
+    /**
+     * Delivers the event, or queues it until the current transaction commits.
+     *
+     * @param event The event.
+     */
+    public void publish(Object event) {
+        this.pending.add(event);
+
+        if (this.scheduled) return;
+
+        this.scheduled = true;
+        Observable.afterCommit(this.flush);
+    }
+
+    /**
+     * Delivers the queued events in order.
+     * Events published by handlers while this runs are delivered after the one being handled.
+     */
+    private void flush() {
+        Object event;
+
+        try {
+            while ((event = this.pending.poll()) != null) this.dispatch(event);
+        } finally {
+            this.pending.clear();
+            this.scheduled = false;
+        }
+    }
+
+    private void dispatch(Object event) {
+        var handlers = this.handlers.get(event.getClass());
+
+        if (handlers != null) {
+            for (int i = 0; i < handlers.size(); i++) handlers.get(i).accept(event);
+        }
+
+        for (int i = 0; i < this.all.size(); i++) this.all.get(i).accept(event);
+    }
+}
@@ -0,0 +1,143 @@
+package memory.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A fixed-size histogram of non-negative values, for example durations in nanoseconds.
+ * Values are counted in log-linear buckets with 16 steps per power of two, so percentiles are accurate to about 6%.
+ * Recording and reading percentiles never allocate.
+ */
+public class Histogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = (65 - SUB_BITS) * SUB;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] LABELS = {"p50", "p90", "p99", "p999"};
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long max = 0;
+    private long sum = 0;
+
+    /**
+     * Counts a value, negative values count as 0.
+     *
+     * @param value The value.
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+
+        this.counts[index(value)]++;
+        this.count++;
+        this.sum += value;
+        if (value > this.max) this.max = value;
+    }
+
+    /**
+     * Returns the value the given percentage of values is smaller than or equal to.
+     * The answer is the upper bound of the bucket the percentile falls in, but never more than the largest value.
+     *
+     * @param percentile 0 to 100.
+     */
+    public long getPercentile(double percentile) {
+        if (this.count == 0) return 0;
+
+        var target = Math.max(1, (long) Math.ceil(this.count * percentile / 100.0));
+        var seen = 0L;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts[i];
+
+            if (seen >= target) return Math.min(upper(i), this.max);
+        }
+
+        return this.max;
+    }
+
+    /**
+     * Adds every value counted by another histogram to this one.
+     *
+     * @param other The other histogram.
+     */
+    public void add(Histogram other) {
+        for (int i = 0; i < BUCKETS; i++) this.counts[i] += other.counts[i];
+
+        this.count += other.count;
+        this.sum += other.sum;
+        this.max = Math.max(this.max, other.max);
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    public long getMax() {
+        return this.max;
+    }
+
+    public double getMean() {
+        return (this.count == 0) ? 0 : (double) this.sum / this.count;
+    }
+
+    public void reset() {
+        Arrays.fill(this.counts, 0);
+        this.count = 0;
+        this.max = 0;
+        this.sum = 0;
+    }
+
+    /**
+     * Writes the summary and every non-empty bucket as name=value lines, which diff well between runs.
+     *
+     * @param name  The prefix of every line.
+     * @param scale What values get divided by, for example 1e6 to write nanoseconds as milliseconds.
+     * @param out   Where the lines get written to.
+     */
+    public void write(String name, double scale, Appendable out) throws IOException {
+        out.append(String.format("%s.count=%s%n", name, this.count));
+        out.append(String.format("%s.mean=%.3f%n", name, this.getMean() / scale));
+
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            out.append(String.format("%s.%s=%.3f%n", name, LABELS[i], this.getPercentile(PERCENTILES[i]) / scale));
+        }
+
+        out.append(String.format("%s.max=%.3f%n", name, this.max / scale));
+
+        for (int i = 0; i < BUCKETS; i++) {
+            if (this.counts[i] == 0) continue;
+
+            out.append(String.format("%s.bucket.%.3f-%.3f=%s%n", name, lower(i) / scale, upper(i) / scale, this.counts[i]));
+        }
+    }
+
+    /**
+     * Values below 2 * SUB get a bucket each, above that every power of two is split into SUB buckets.
+     */
+    private static int index(long value) {
+        if (value < 2 * SUB) return (int) value;
+
+        var shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+
+        return (shift + 1) * SUB + (int) (value >>> shift) - SUB;
+    }
+
+    private static long lower(int index) {
+        if (index < 2 * SUB) return index;
+
+        var shift = index / SUB - 1;
+
+        return (long) (index % SUB + SUB) << shift;
+    }
+
+    private static long upper(int index) {
+        if (index < 2 * SUB) return index;
+
+        var shift = index / SUB - 1;
+
+        // The last bucket ends past the largest long.
+        if (shift + SUB_BITS + 1 >= 64 && index % SUB == SUB - 1) return Long.MAX_VALUE;
+
+        return ((long) (index % SUB + SUB + 1) << shift) - 1;
+    }
+}
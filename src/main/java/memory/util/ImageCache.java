@@ -0,0 +1,120 @@
+package memory.util;
+
+import javafx.scene.image.Image;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Process-wide cache of decoded images, keyed by url and requested size.
+ * Images are decoded in the background at the size they get displayed at.
+ */
+public class ImageCache {
+    private static final ImageCache INSTANCE = new ImageCache(64);
+
+    private final Map<Key, Image> images;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public ImageCache(int capacity) {
+        this.images = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Image> eldest) {
+                if (this.size() <= capacity) return false;
+
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    public static ImageCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the image at the given size, decoding it if it isn't cached yet.
+     *
+     * @param url    The url of the image.
+     * @param width  The width the image gets displayed at.
+     * @param height The height the image gets displayed at.
+     */
+    public synchronized Image get(String url, double width, double height) {
+        var key = new Key(url, width, height);
+        var image = this.images.get(key);
+
+        if (image != null) {
+            this.hits++;
+            return image;
+        }
+
+        this.misses++;
+        image = new Image(url, width, height, true, true, true);
+        this.images.put(key, image);
+
+        return image;
+    }
+
+    /**
+     * Starts decoding the given images so they're ready by the time they're shown.
+     *
+     * @param urls   The urls of the images.
+     * @param width  The width the images get displayed at.
+     * @param height The height the images get displayed at.
+     */
+    public synchronized void warmUp(Iterable<String> urls, double width, double height) {
+        for (var url : urls) {
+            var key = new Key(url, width, height);
+
+            if (this.images.containsKey(key)) continue;
+
+            this.misses++;
+            this.images.put(key, new Image(url, width, height, true, true, true));
+        }
+    }
+
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ImageCache[size=%s, hits=%s, misses=%s, evictions=%s]", this.images.size(), this.hits, this.misses, this.evictions);
+    }
+
+    private static final class Key {
+        private final String url;
+        private final double width;
+        private final double height;
+
+        private Key(String url, double width, double height) {
+            this.url = url;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            var key = (Key) o;
+            return this.width == key.width && this.height == key.height && this.url.equals(key.url);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.url, this.width, this.height);
+        }
+    }
+}
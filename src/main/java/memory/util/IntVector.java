@@ -0,0 +1,122 @@
+package memory.util;
+
+/**
+ * An immutable, fixed-size array of ints that is changed by making a new version.
+ * The values live in a trie with 32 values per leaf and 32 children per node, a new version copies the path to the
+ * changed value and shares every other node with the old one. That's one leaf and one node for a 6x6 board, and
+ * a handful of nodes for a million cells.
+ */
+public final class IntVector {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private final int size;
+    // The amount of bits a level above the leaves shifts the index by, 0 when the root is a leaf.
+    private final int shift;
+    // An int[] leaf or an Object[] node.
+    private final Object root;
+
+    private IntVector(int size, int shift, Object root) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    /**
+     * Copies the values into a new vector.
+     *
+     * @param values The values.
+     */
+    public static IntVector of(int[] values) {
+        var leaves = Math.max(1, (values.length + MASK) >>> BITS);
+        Object[] level = new Object[leaves];
+
+        for (int i = 0; i < leaves; i++) {
+            var leaf = new int[WIDTH];
+            System.arraycopy(values, i * WIDTH, leaf, 0, Math.min(WIDTH, values.length - i * WIDTH));
+            level[i] = leaf;
+        }
+
+        var shift = 0;
+
+        while (level.length > 1) {
+            var parents = new Object[(level.length + MASK) >>> BITS];
+
+            for (int i = 0; i < parents.length; i++) {
+                var node = new Object[WIDTH];
+                System.arraycopy(level, i * WIDTH, node, 0, Math.min(WIDTH, level.length - i * WIDTH));
+                parents[i] = node;
+            }
+
+            level = parents;
+            shift += BITS;
+        }
+
+        return new IntVector(values.length, shift, level[0]);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= this.size) throw new IndexOutOfBoundsException("Index " + index + " is outside of 0 to " + this.size + ".");
+
+        var node = this.root;
+        for (int shift = this.shift; shift > 0; shift -= BITS) node = ((Object[]) node)[(index >>> shift) & MASK];
+
+        return ((int[]) node)[index & MASK];
+    }
+
+    /**
+     * Returns a version with one value changed, this vector stays as it is.
+     *
+     * @param index The index of the value.
+     * @param value The new value.
+     */
+    public IntVector set(int index, int value) {
+        if (index < 0 || index >= this.size) throw new IndexOutOfBoundsException("Index " + index + " is outside of 0 to " + this.size + ".");
+        if (this.get(index) == value) return this;
+
+        return new IntVector(this.size, this.shift, set(this.root, this.shift, index, value));
+    }
+
+    private static Object set(Object node, int shift, int index, int value) {
+        if (shift == 0) {
+            var leaf = ((int[]) node).clone();
+            leaf[index & MASK] = value;
+            return leaf;
+        }
+
+        var children = ((Object[]) node).clone();
+        var child = (index >>> shift) & MASK;
+        children[child] = set(children[child], shift - BITS, index, value);
+
+        return children;
+    }
+
+    /**
+     * Copies the values into a new array.
+     */
+    public int[] toArray() {
+        var result = new int[this.size];
+        copy(this.root, this.shift, 0, result);
+
+        return result;
+    }
+
+    private static void copy(Object node, int shift, int offset, int[] result) {
+        if (shift == 0) {
+            System.arraycopy((int[]) node, 0, result, offset, Math.min(WIDTH, result.length - offset));
+            return;
+        }
+
+        var children = (Object[]) node;
+        var span = 1 << shift;
+
+        for (int i = 0; i < WIDTH && children[i] != null && offset + i * span < result.length; i++) {
+            copy(children[i], shift - BITS, offset + i * span, result);
+        }
+    }
+}
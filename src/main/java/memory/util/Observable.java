@@ -1,20 +1,114 @@
 package memory.util;
 
+import memory.jfr.ObserverDispatchEvent;
+
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 public class Observable<T> {
-    private final List<Consumer<T>> observers = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<Transaction> TRANSACTION = ThreadLocal.withInitial(Transaction::new);
+
+    // Created on the first observe call, most model objects are never observed.
+    private List<Consumer<T>> observers;
     private T last;
+    private T pending;
+    private boolean dirty = false;
+
+    /**
+     * Runs the given changes and notifies the observers of everything they updated once, after the last change.
+     * Transactions can be nested, only the outermost one notifies.
+     *
+     * @param changes The changes to make.
+     */
+    public static void transaction(Runnable changes) {
+        var transaction = TRANSACTION.get();
+        transaction.depth++;
+
+        try {
+            changes.run();
+        } finally {
+            if (--transaction.depth == 0) transaction.commit();
+        }
+    }
+
+    /**
+     * Runs the given action once the current transaction has notified its observers, or right away outside of one.
+     *
+     * @param action The action to run.
+     */
+    public static void afterCommit(Runnable action) {
+        var transaction = TRANSACTION.get();
+
+        if (transaction.depth > 0) transaction.deferred.add(action);
+        else action.run();
+    }
 
     public void update(T next) {
-        this.observers.forEach((o) -> o.accept(next));
-        this.last = next;
+        var transaction = TRANSACTION.get();
+
+        if (transaction.depth > 0) {
+            this.pending = next;
+
+            if (!this.dirty) {
+                this.dirty = true;
+                transaction.dirty.add(this);
+            }
+
+            return;
+        }
+
+        this.publish(next);
     }
 
     public void observe(Consumer<T> observer) {
+        if (this.observers == null) this.observers = new CopyOnWriteArrayList<>();
         this.observers.add(observer);
         observer.accept(this.last);
     }
+
+    private void publish(T next) {
+        if (this.observers != null) {
+            var event = ObserverDispatchEvent.isRecorded() ? new ObserverDispatchEvent() : null;
+            if (event != null) event.begin();
+
+            // Indexed, a forEach lambda would capture next and allocate on every update.
+            for (int i = 0; i < this.observers.size(); i++) this.observers.get(i).accept(next);
+
+            if (event != null) {
+                event.observable = this.getClass();
+                event.observers = this.observers.size();
+                event.commit();
+            }
+        }
+
+        this.last = next;
+    }
+
+    private void flush() {
+        var next = this.pending;
+
+        this.dirty = false;
+        this.pending = null;
+        this.publish(next);
+    }
+
+    private static class Transaction {
+        private final ArrayDeque<Observable<?>> dirty = new ArrayDeque<>();
+        private final ArrayDeque<Runnable> deferred = new ArrayDeque<>();
+        private int depth = 0;
+
+        /**
+         * Notifies every observable in the order they were first updated, then runs the deferred actions.
+         * Updates made by observers while this runs are notified right away.
+         */
+        private void commit() {
+            Observable<?> observable;
+            Runnable action;
+
+            while ((observable = this.dirty.poll()) != null) observable.flush();
+            while ((action = this.deferred.poll()) != null) action.run();
+        }
+    }
 }
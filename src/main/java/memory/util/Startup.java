@@ -0,0 +1,91 @@
+package memory.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Milestones of a cold start, in milliseconds since the JVM was launched.
+ * The report is logged at the first click on a card, and written to a file if one was given.
+ */
+public class Startup {
+    private static final System.Logger LOGGER = System.getLogger(Startup.class.getName());
+
+    // The launch time only has millisecond precision, later milestones are measured with nanoTime from class loading on.
+    private static final long LAUNCHED = ProcessHandle.current().info().startInstant().map(Instant::toEpochMilli).orElse(System.currentTimeMillis());
+    private static final long LOADED = System.currentTimeMillis();
+    private static final long LOADED_NANOS = System.nanoTime();
+
+    private static final Map<String, Double> MILESTONES = new LinkedHashMap<>();
+    private static Path report;
+    private static boolean training = false;
+    private static boolean reported = false;
+
+    /**
+     * Records a milestone, only the first time it's reached counts.
+     *
+     * @param milestone The name of the milestone.
+     */
+    public static synchronized void mark(String milestone) {
+        if (MILESTONES.containsKey(milestone)) return;
+
+        MILESTONES.put(milestone, (LOADED - LAUNCHED) + (System.nanoTime() - LOADED_NANOS) / 1e6);
+    }
+
+    /**
+     * Records the first click and reports the whole startup.
+     */
+    public static synchronized void click() {
+        mark("first click");
+
+        if (reported) return;
+        reported = true;
+
+        var text = getReport();
+        LOGGER.log(System.Logger.Level.INFO, text);
+
+        if (report == null) return;
+
+        try {
+            if (report.toAbsolutePath().getParent() != null) Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.writeString(report, text, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "The startup report couldn't be written", e);
+        }
+    }
+
+    /**
+     * @return The milestones so far, one per line.
+     */
+    public static synchronized String getReport() {
+        var builder = new StringBuilder("Startup, ms since JVM launch:");
+
+        for (var milestone : MILESTONES.entrySet()) {
+            builder.append(String.format("%n  %-14s %8.1f", milestone.getKey(), milestone.getValue()));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * @param file Where to write the report at the first click, or null to only log it.
+     */
+    public static synchronized void setReport(Path file) {
+        report = file;
+    }
+
+    /**
+     * A training run quits as soon as the game is interactive, to record the classes a startup needs.
+     */
+    public static synchronized boolean isTraining() {
+        return training;
+    }
+
+    public static synchronized void setTraining(boolean enabled) {
+        training = enabled;
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * Open so FXML can reach the controllers and JavaFX can load the images, views and styles from the module by path.
+ */
+open module memory {
+    requires javafx.controls;
+    requires javafx.fxml;
+    requires jdk.jfr;
+}
@@ -0,0 +1,66 @@
+package memory.analytics;
+
+import memory.model.Board;
+import memory.model.Game;
+import memory.model.SaveFile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that games end up in the right totals.
+ */
+class GameStatsTest {
+    private static final int REMOVED = Board.REMOVED;
+
+    @Test
+    void aDrawnGameIsCountedAsADraw() {
+        var stats = new GameStats();
+        var save = new SaveFile(2, 2, new int[]{REMOVED, REMOVED, REMOVED, REMOVED}, new String[]{"One", "Two"}, new int[][]{{1}, {2}}, 0);
+
+        Aggregation.record(save, new Game(2, 2), stats);
+
+        assertEquals(1, stats.getGames());
+        assertEquals(1, stats.getFinished());
+        assertEquals(1, stats.getDrawRate());
+        assertEquals(0, stats.getWinRate(GameStats.PLAYER_ONE));
+        assertEquals(0, stats.getWinRate(GameStats.PLAYER_TWO));
+        assertEquals(0, stats.getReplayed());
+    }
+
+    @Test
+    void aWonGameIsCountedForTheWinner() {
+        var stats = new GameStats();
+        var save = new SaveFile(2, 2, new int[]{REMOVED, REMOVED, REMOVED, REMOVED}, new String[]{"One", "Two"}, new int[][]{{}, {1, 2}}, 0);
+
+        Aggregation.record(save, new Game(2, 2), stats);
+
+        assertEquals(0, stats.getDrawRate());
+        assertEquals(1, stats.getWinRate(GameStats.PLAYER_TWO));
+        assertEquals(1, stats.getBadgeCount(GameStats.PLAYER_TWO, 2));
+    }
+
+    @Test
+    void aDrawIsNeitherAStarterWinNorLoss() {
+        var stats = new GameStats();
+
+        stats.record(GameStats.DRAW, new int[]{1, 1}, GameStats.PLAYER_ONE, 3, 1);
+        stats.record(GameStats.PLAYER_ONE, new int[]{2, 0}, GameStats.PLAYER_ONE, 2, 1);
+
+        assertEquals(2, stats.getReplayed());
+        assertEquals(0.5, stats.getDrawRate());
+        assertEquals(0.5, stats.getStarterWinRate());
+        assertEquals(0, stats.getStarterLossRate());
+    }
+
+    @Test
+    void anUnfinishedGameIsntADraw() {
+        var stats = new GameStats();
+
+        stats.record(GameStats.UNFINISHED, new int[]{0, 0}, GameStats.UNKNOWN, 0, GameStats.UNKNOWN);
+
+        assertEquals(1, stats.getGames());
+        assertEquals(0, stats.getFinished());
+        assertEquals(0, stats.getDrawRate());
+    }
+}
@@ -0,0 +1,114 @@
+package memory.archive;
+
+import memory.model.Game;
+import memory.model.SaveFile;
+import memory.model.SaveFileException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that adding games to an archive never puts the games that were already in it at risk.
+ */
+class ArchiveWriterTest {
+    private static final int SIZE = 20;
+    // Several blocks worth of games, so blocks get written before the writer is closed.
+    private static final int GAMES = 100;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void oldGamesSurviveAWriterThatDiesHalfway() throws IOException, SaveFileException {
+        var path = this.directory.resolve("games" + GameArchive.EXTENSION);
+        var crashed = this.directory.resolve("crashed" + GameArchive.EXTENSION);
+
+        pack(path, 0, GAMES);
+        var before = Files.size(path);
+
+        var writer = ArchiveWriter.open(path, true);
+        for (int i = GAMES; i < 2 * GAMES; i++) writer.add(game(i), i);
+
+        // What the disk holds if the process dies now: new blocks after the old trailer, but no new index.
+        Files.copy(path, crashed);
+        assertTrue(Files.size(crashed) > before);
+
+        writer.close();
+
+        assertGames(GameArchive.open(crashed), GAMES);
+        assertGames(GameArchive.open(path), 2 * GAMES);
+
+        // A later writer overwrites what the dead one left behind.
+        pack(crashed, GAMES, GAMES + 10);
+        assertGames(GameArchive.open(crashed), GAMES + 10);
+    }
+
+    @Test
+    void oldGamesSurviveAnIndexThatWasOnlyPartlyWritten() throws IOException, SaveFileException {
+        var path = this.directory.resolve("games" + GameArchive.EXTENSION);
+
+        pack(path, 0, GAMES);
+        pack(path, GAMES, 2 * GAMES);
+
+        // Cut off the end of the new trailer, as if the writer died while closing.
+        try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        assertGames(GameArchive.open(path), GAMES);
+    }
+
+    @Test
+    void anArchiveThatWasNeverClosedIsRejected() throws IOException, SaveFileException {
+        var path = this.directory.resolve("games" + GameArchive.EXTENSION);
+        var writer = ArchiveWriter.open(path, false);
+
+        for (int i = 0; i < GAMES; i++) writer.add(game(i), i);
+
+        var crashed = this.directory.resolve("crashed" + GameArchive.EXTENSION);
+        Files.copy(path, crashed);
+        writer.close();
+
+        assertThrows(SaveFileException.class, () -> GameArchive.open(crashed));
+    }
+
+    private static void pack(Path path, int from, int to) throws IOException, SaveFileException {
+        try (var writer = ArchiveWriter.open(path, true)) {
+            for (int i = from; i < to; i++) assertEquals(i, writer.add(game(i), i));
+        }
+    }
+
+    /**
+     * A game that can be recognized by its number.
+     */
+    private static SaveFile game(int number) {
+        var game = new Game(SIZE, SIZE);
+        game.start(number);
+
+        var save = SaveFile.of(game);
+
+        return new SaveFile(SIZE, SIZE, save.getGrid(), new String[]{"Player " + number, "Other"}, new int[][]{{}, {}}, 0, save.getSeed(), save.getMoves());
+    }
+
+    private static void assertGames(GameArchive archive, int games) throws SaveFileException {
+        assertEquals(games, archive.size());
+
+        for (int id = 0; id < games; id++) {
+            var expected = game(id);
+            var actual = archive.read(id);
+
+            assertArrayEquals(expected.getGrid(), actual.getGrid(), "game " + id);
+            assertEquals(expected.getName(0), actual.getName(0));
+            assertEquals(id, archive.getEntry(id).getDate());
+        }
+
+        assertEquals(1, archive.findPlayer("Player " + (games - 1)).length);
+    }
+}
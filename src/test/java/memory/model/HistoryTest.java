@@ -0,0 +1,206 @@
+package memory.model;
+
+import memory.util.Observable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that every state of the history matches the game it was played in, through undo, redo, branches and snapshots.
+ */
+class HistoryTest {
+    private static final long SEED = 7;
+    private static final int SIZE = 6;
+
+    @Test
+    void recordsEveryTurn() {
+        var game = new Game(SIZE, SIZE);
+        var history = new History(game);
+        var random = new SplittableRandom(SEED);
+
+        game.start(SEED);
+        assertEquals(describe(SaveFile.of(game)), describe(history.getState()));
+
+        while (!game.checkForGameEnd()) {
+            turn(game, random);
+            assertEquals(describe(SaveFile.of(game)), describe(history.getState()));
+        }
+    }
+
+    @Test
+    void recordsFlipsThatArriveAfterTheTurn() {
+        var game = new Game(SIZE, SIZE);
+        var history = new History(game);
+        var random = new SplittableRandom(SEED);
+
+        game.start(SEED);
+
+        for (int i = 0; i < 5; i++) {
+            // Every event of the turn is only delivered once it's over and nothing is selected anymore.
+            Observable.transaction(() -> turn(game, random));
+            assertEquals(describe(SaveFile.of(game)), describe(history.getState()));
+        }
+    }
+
+    @Test
+    void undoAndRedoWalkThroughTheTurns() {
+        var game = new Game(SIZE, SIZE);
+        var history = new History(game);
+        var states = play(game, history, 8);
+
+        assertFalse(history.canRedo());
+
+        for (int turn = states.size() - 2; turn >= 0; turn--) {
+            assertTrue(history.canUndo());
+            history.undo();
+
+            assertEquals(states.get(turn), describe(SaveFile.of(game)));
+            assertEquals(states.get(turn), describe(history.getState()));
+        }
+
+        assertFalse(history.canUndo());
+
+        for (int turn = 1; turn < states.size(); turn++) {
+            assertTrue(history.canRedo());
+            history.redo();
+
+            assertEquals(states.get(turn), describe(SaveFile.of(game)));
+        }
+
+        assertFalse(history.canRedo());
+    }
+
+    @Test
+    void undoPutsBackTheCardsOfTheCurrentTurn() {
+        var game = new Game(SIZE, SIZE);
+        var history = new History(game);
+        var states = play(game, history, 3);
+
+        game.addSelectedCard(unremoved(game, -1));
+        assertTrue(history.canUndo());
+        history.undo();
+
+        assertEquals(0, game.getSelectedCount());
+        assertEquals(states.get(3), describe(SaveFile.of(game)));
+
+        // The card that was put back doesn't count as the first card of the next turn.
+        turn(game, new SplittableRandom(SEED + 1));
+        assertEquals(describe(SaveFile.of(game)), describe(history.getState()));
+    }
+
+    @Test
+    void playingAfterUndoStartsABranch() {
+        var game = new Game(SIZE, SIZE);
+        var history = new History(game);
+        var states = play(game, history, 4);
+
+        history.undo();
+        history.undo();
+        turn(game, new SplittableRandom(SEED + 1));
+
+        var branch = describe(SaveFile.of(game));
+        assertNotEquals(states.get(3), branch);
+
+        history.undo();
+        assertEquals(states.get(2), describe(SaveFile.of(game)));
+        assertEquals(2, history.getBranchCount());
+
+        // Redo follows the branch that was played last, the next branch is the one that was undone.
+        history.redo();
+        assertEquals(branch, describe(SaveFile.of(game)));
+
+        history.undo();
+        assertEquals(0, history.nextBranch());
+        history.redo();
+        assertEquals(states.get(3), describe(SaveFile.of(game)));
+        history.redo();
+        assertEquals(states.get(4), describe(SaveFile.of(game)));
+    }
+
+    @Test
+    void restoresSnapshots() {
+        var game = new Game(SIZE, SIZE);
+        var history = new History(game);
+        var states = play(game, history, 2);
+
+        history.snapshot("two");
+        assertTrue(history.hasSnapshot("two"));
+        assertFalse(history.restore("three"));
+
+        var random = new SplittableRandom(SEED + 1);
+        for (int i = 0; i < 3; i++) turn(game, random);
+
+        var later = describe(SaveFile.of(game));
+
+        assertTrue(history.restore("two"));
+        assertEquals(states.get(2), describe(SaveFile.of(game)));
+
+        // The turns since the snapshot are still there to redo.
+        for (int i = 0; i < 3; i++) history.redo();
+        assertEquals(later, describe(SaveFile.of(game)));
+
+        // A new game forgets the snapshots.
+        game.start(SEED);
+        assertFalse(history.hasSnapshot("two"));
+        assertFalse(history.canUndo());
+    }
+
+    /**
+     * Starts a game and plays the given amount of turns.
+     *
+     * @return The state before the first turn and after every turn.
+     */
+    private static List<String> play(Game game, History history, int turns) {
+        var random = new SplittableRandom(SEED);
+        var states = new ArrayList<String>();
+
+        game.start(SEED);
+        states.add(describe(SaveFile.of(game)));
+
+        for (int i = 0; i < turns; i++) {
+            turn(game, random);
+            states.add(describe(history.getState()));
+        }
+
+        return states;
+    }
+
+    private static void turn(Game game, SplittableRandom random) {
+        var first = unremoved(game, -1, random);
+
+        game.addSelectedCard(first);
+        game.addSelectedCard(unremoved(game, first, random));
+        game.calculatePair();
+    }
+
+    private static int unremoved(Game game, int other) {
+        return unremoved(game, other, new SplittableRandom(SEED));
+    }
+
+    private static int unremoved(Game game, int other, SplittableRandom random) {
+        var board = game.getBoard();
+        int index;
+
+        do index = random.nextInt(board.size()); while (board.isRemoved(index) || index == other);
+
+        return index;
+    }
+
+    private static String describe(GameState state) {
+        return describe(state.toSaveFile());
+    }
+
+    private static String describe(SaveFile save) {
+        var text = new StringBuilder(Arrays.toString(save.getGrid()));
+
+        for (int player = 0; player < 2; player++) text.append(' ').append(Arrays.toString(save.getBadges(player)));
+        text.append(" current ").append(save.getCurrentPlayer()).append(" moves ").append(Arrays.toString(save.getMoves()));
+
+        return text.toString();
+    }
+}
@@ -0,0 +1,136 @@
+package memory.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a seed deals the same game and that seeking lands on the same state as playing the moves from the start.
+ */
+class ReplayTest {
+    private static final long SEED = 42;
+    // Big enough for several checkpoints.
+    private static final int SIZE = 12;
+
+    @Test
+    void theSameSeedDealsTheSameGame() {
+        var one = new Game(SIZE, SIZE);
+        var two = new Game(SIZE, SIZE);
+
+        one.start(SEED);
+        two.start(SEED);
+
+        assertArrayEquals(one.getBoard().toArray(), two.getBoard().toArray());
+        assertEquals(one.getCurrentPlayer() == one.getplayerOne(), two.getCurrentPlayer() == two.getplayerOne());
+
+        two.start(SEED + 1);
+
+        assertFalse(Arrays.equals(one.getBoard().toArray(), two.getBoard().toArray()));
+    }
+
+    @Test
+    void seekMatchesPlayingTheMovesFromTheStart() {
+        var game = new Game(SIZE, SIZE);
+        var states = new ArrayList<State>();
+
+        game.start(SEED);
+        states.add(new State(game));
+        play(game, new SplittableRandom(SEED), states);
+
+        var replay = new Replay(SIZE, SIZE, SEED, game.getMoves());
+
+        assertTrue(replay.size() > 4 * Replay.CHECKPOINT_TURNS, "The game should span several checkpoints");
+        assertTrue(replay.matches(SaveFile.of(game)));
+
+        // Forwards, backwards and across checkpoints in random order.
+        var random = new SplittableRandom(SEED);
+
+        for (int i = 0; i < 500; i++) {
+            var position = random.nextInt(replay.size() + 1);
+
+            assertEquals(states.get(position), new State(replay.seek(position)), "after " + position + " moves");
+        }
+
+        for (int position = replay.size(); position >= 0; position--) {
+            assertEquals(states.get(position), new State(replay.seek(position)), "after " + position + " moves");
+        }
+    }
+
+    @Test
+    void rejectsMovesThatCouldNotHaveBeenMade() {
+        var game = new Game(SIZE, SIZE);
+        game.start(SEED);
+        play(game, new SplittableRandom(SEED), new ArrayList<>());
+
+        var moves = game.getMoves();
+        var removed = moves[moves.length - 1];
+        var invalid = new int[moves.length + 2];
+
+        System.arraycopy(moves, 0, invalid, 0, moves.length);
+        invalid[moves.length] = removed;
+        invalid[moves.length + 1] = moves[moves.length - 2];
+
+        assertThrows(IllegalArgumentException.class, () -> new Replay(SIZE, SIZE, SEED, invalid));
+        assertThrows(IllegalArgumentException.class, () -> new Replay(SIZE, SIZE, SEED, new int[]{0, 0}));
+        assertThrows(IndexOutOfBoundsException.class, () -> new Replay(SIZE, SIZE, SEED, moves).seek(moves.length + 1));
+    }
+
+    /**
+     * Plays random moves until the game ends, adding the state after every move.
+     */
+    private static void play(Game game, SplittableRandom random, List<State> states) {
+        var board = game.getBoard();
+
+        while (!game.checkForGameEnd()) {
+            int first;
+            int second;
+
+            do first = random.nextInt(board.size()); while (board.isRemoved(first));
+            do second = random.nextInt(board.size()); while (board.isRemoved(second) || second == first);
+
+            game.addSelectedCard(first);
+            states.add(new State(game));
+            game.addSelectedCard(second);
+            game.calculatePair();
+            states.add(new State(game));
+        }
+    }
+
+    /**
+     * What a player can see of a game at one moment.
+     */
+    private static final class State {
+        private final String text;
+
+        State(Game game) {
+            var save = SaveFile.of(game, false);
+            var text = new StringBuilder(Arrays.toString(save.getGrid()));
+
+            for (int player = 0; player < 2; player++) text.append(' ').append(Arrays.toString(save.getBadges(player)));
+            text.append(" current ").append(save.getCurrentPlayer()).append(" selected");
+            for (int i = 0; i < game.getSelectedCount(); i++) text.append(' ').append(game.getSelectedCard(i));
+
+            this.text = text.toString();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof State && ((State) other).text.equals(this.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.text.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return this.text;
+        }
+    }
+}
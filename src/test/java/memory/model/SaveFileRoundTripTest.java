@@ -0,0 +1,88 @@
+package memory.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Converts every bundled save to the binary format and back, nothing may get lost on the way.
+ */
+class SaveFileRoundTripTest {
+    private static final Path SAVES = Path.of("src", "main", "resources", "saves");
+    // Bundled on purpose to show the load error.
+    private static final List<String> BROKEN = List.of("demo.mem", "trash.mem");
+
+    @TempDir
+    Path directory;
+
+    static Stream<Path> saves() throws IOException {
+        return list().stream().filter(path -> !BROKEN.contains(path.getFileName().toString()));
+    }
+
+    static Stream<Path> brokenSaves() throws IOException {
+        return list().stream().filter(path -> BROKEN.contains(path.getFileName().toString()));
+    }
+
+    private static List<Path> list() throws IOException {
+        try (var paths = Files.list(SAVES)) {
+            return paths.filter(path -> path.toString().endsWith(".mem")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void findsTheSaves() throws IOException {
+        assertTrue(saves().count() > 0, "No saves in " + SAVES.toAbsolutePath());
+        assertEquals(BROKEN.size(), brokenSaves().count());
+    }
+
+    @ParameterizedTest
+    @MethodSource("saves")
+    void convertsLosslessly(Path path) throws IOException, SaveFileException {
+        var name = path.getFileName().toString();
+        var original = SaveFile.read(path);
+
+        var binary = this.directory.resolve(name + "b");
+        original.write(binary);
+        var fromBinary = SaveFile.read(binary);
+
+        assertSameGame(original, fromBinary);
+
+        var text = this.directory.resolve(name);
+        fromBinary.write(text);
+
+        assertSameGame(original, SaveFile.read(text));
+        assertEquals(Files.readString(path, StandardCharsets.UTF_8), Files.readString(text, StandardCharsets.UTF_8).replace(System.lineSeparator(), "\n"), "The text save changed");
+    }
+
+    @ParameterizedTest
+    @MethodSource("brokenSaves")
+    void rejectsBrokenSaves(Path path) {
+        assertThrows(SaveFileException.class, () -> SaveFile.read(path));
+    }
+
+    private static void assertSameGame(SaveFile expected, SaveFile actual) {
+        assertEquals(expected.getRows(), actual.getRows(), "rows");
+        assertEquals(expected.getColumns(), actual.getColumns(), "columns");
+        assertArrayEquals(expected.getGrid(), actual.getGrid(), "board");
+
+        for (int player = 0; player < 2; player++) {
+            assertEquals(expected.getName(player), actual.getName(player), "name of player " + player);
+            assertArrayEquals(expected.getBadges(player), actual.getBadges(player), "badges of player " + player);
+        }
+
+        assertEquals(expected.getCurrentPlayer(), actual.getCurrentPlayer(), "current player");
+        assertEquals(expected.getSeed(), actual.getSeed(), "seed");
+        assertArrayEquals(expected.getMoves(), actual.getMoves(), "moves");
+    }
+}
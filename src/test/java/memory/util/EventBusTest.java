@@ -0,0 +1,121 @@
+package memory.util;
+
+import memory.model.Game;
+import memory.model.event.CardFlipped;
+import memory.model.event.GameStarted;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that events wait for the transaction they were published in.
+ */
+class EventBusTest {
+    @Test
+    void deliversRightAwayOutsideOfATransaction() {
+        var bus = new EventBus();
+        var received = new ArrayList<Object>();
+
+        bus.on(String.class, received::add);
+        bus.publish("event");
+
+        assertEquals(List.of("event"), received);
+    }
+
+    @Test
+    void holdsEventsBackUntilTheTransactionCommits() {
+        var bus = new EventBus();
+        var received = new ArrayList<Object>();
+
+        bus.on(String.class, received::add);
+
+        Observable.transaction(() -> {
+            bus.publish("first");
+            Observable.transaction(() -> bus.publish("second"));
+
+            assertTrue(received.isEmpty(), "Delivered before the outer transaction committed");
+        });
+
+        assertEquals(List.of("first", "second"), received);
+    }
+
+    @Test
+    void handlersSeeTheCommittedState() {
+        var bus = new EventBus();
+        var value = new Observable<Integer>();
+        var observed = new ArrayList<Integer>();
+        var seen = new ArrayList<Integer>();
+
+        value.observe(observed::add);
+        bus.on(String.class, e -> seen.add(observed.get(observed.size() - 1)));
+
+        Observable.transaction(() -> {
+            value.update(1);
+            bus.publish("changed");
+            value.update(2);
+        });
+
+        assertEquals(Arrays.asList(null, 2), observed);
+        assertEquals(List.of(2), seen);
+    }
+
+    @Test
+    void deliversEventsPublishedByHandlersAfterTheCurrentOne() {
+        var bus = new EventBus();
+        var received = new ArrayList<Object>();
+
+        bus.on(String.class, e -> {
+            received.add(e);
+            if (e.equals("first")) bus.publish(1);
+        });
+        bus.on(Integer.class, received::add);
+
+        Observable.transaction(() -> {
+            bus.publish("first");
+            bus.publish("second");
+        });
+
+        assertEquals(List.of("first", "second", 1), received);
+    }
+
+    @Test
+    void wantsOnlyTypesWithHandlers() {
+        var bus = new EventBus();
+
+        assertFalse(bus.wants(String.class));
+
+        bus.on(String.class, e -> {
+        });
+
+        assertTrue(bus.wants(String.class));
+        assertFalse(bus.wants(Integer.class));
+
+        bus.onAll(e -> {
+        });
+
+        assertTrue(bus.wants(Integer.class));
+    }
+
+    @Test
+    void gameEventsComeAfterTheGameHasStarted() {
+        var game = new Game();
+        var sizes = new ArrayList<Integer>();
+
+        game.getEvents().on(GameStarted.class, e -> sizes.add(game.getBoard().getRemaining()));
+        game.start(1);
+
+        // Dealing replaces the board inside a transaction, the event only arrives once it's full.
+        assertEquals(List.of(game.getBoard().size()), sizes);
+        assertNotNull(game.getSeed());
+
+        var flipped = new ArrayList<Integer>();
+        game.getEvents().on(CardFlipped.class, e -> flipped.add(e.getIndex()));
+        game.addSelectedCard(3);
+
+        assertEquals(List.of(3), flipped);
+    }
+}
@@ -0,0 +1,75 @@
+package memory.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a vector holds the same values as an array, at every depth of the trie.
+ */
+class IntVectorTest {
+    // Empty, a partial leaf, a full leaf, one node, a full node and two levels of nodes.
+    private static final int[] SIZES = {0, 1, 31, 32, 33, 1024, 1025, 40_000};
+
+    @Test
+    void holdsTheValuesItWasMadeOf() {
+        for (var size : SIZES) {
+            var values = values(size);
+            var vector = IntVector.of(values);
+
+            assertEquals(size, vector.size());
+            assertArrayEquals(values, vector.toArray(), "size " + size);
+
+            for (int i = 0; i < size; i++) assertEquals(values[i], vector.get(i));
+        }
+    }
+
+    @Test
+    void setLeavesTheOldVersionAsItWas() {
+        for (var size : SIZES) {
+            if (size == 0) continue;
+
+            var random = new SplittableRandom(size);
+            var expected = values(size);
+            var vector = IntVector.of(expected);
+
+            for (int i = 0; i < 200; i++) {
+                var index = random.nextInt(size);
+                var before = expected.clone();
+                var old = vector;
+
+                expected[index] = random.nextInt();
+                vector = vector.set(index, expected[index]);
+
+                assertArrayEquals(before, old.toArray(), "size " + size);
+                assertArrayEquals(expected, vector.toArray(), "size " + size);
+            }
+        }
+    }
+
+    @Test
+    void settingTheSameValueKeepsTheVector() {
+        var vector = IntVector.of(values(100));
+
+        assertSame(vector, vector.set(40, vector.get(40)));
+    }
+
+    @Test
+    void rejectsIndexesOutOfRange() {
+        var vector = IntVector.of(values(33));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(33));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.set(33, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> IntVector.of(new int[0]).get(0));
+    }
+
+    private static int[] values(int size) {
+        var values = new int[size];
+        for (int i = 0; i < size; i++) values[i] = i * 7 - 3;
+
+        return values;
+    }
+}